@@ -6,6 +6,8 @@ public interface AutenticacionUseCase {
 
     String login(String username, String password);
 
+    String registrar(Usuario usuario);
+
     void logout(String token);
 
     Usuario obtenerUsuarioActual(String token);
@@ -1,8 +1,9 @@
 package com.abel.eventos.application.port.in;
 
 import com.abel.eventos.domain.model.Evento;
-import com.abel.eventos.domain.model.Asiento;
+import com.abel.eventos.domain.model.MapaAsientos;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface GestionEventosUseCase {
@@ -11,7 +12,9 @@ public interface GestionEventosUseCase {
 
     Evento obtenerEventoDetalle(Long eventoId);
 
-    List<Asiento> obtenerAsientosEvento(Long eventoId);
+    MapaAsientos obtenerAsientosEvento(Long eventoId);
 
     void sincronizarEventos();
+
+    void sincronizarEventos(Collection<Long> eventosIds);
 }
\ No newline at end of file
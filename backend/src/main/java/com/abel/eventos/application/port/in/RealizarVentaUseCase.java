@@ -15,5 +15,7 @@ public interface RealizarVentaUseCase {
 
     Venta confirmarVenta(Long usuarioId);
 
+    Venta compraExpress(Long usuarioId, Long eventoId, List<Asiento> asientosConPersona);
+
     void cancelarProceso(Long usuarioId);
 }
\ No newline at end of file
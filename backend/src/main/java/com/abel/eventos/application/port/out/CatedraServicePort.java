@@ -6,6 +6,8 @@ import com.abel.eventos.domain.model.Asiento;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public interface CatedraServicePort {
 
@@ -13,8 +15,14 @@ public interface CatedraServicePort {
 
     List<Evento> obtenerEventosCompletos();
 
+    int recorrerEventosCompletos(int tamanoLote, Consumer<List<Evento>> porLote);
+
     Evento obtenerEventoPorId(Long id);
 
+    CompletableFuture<Evento> obtenerEventoPorIdAsync(Long id);
+
+    Evento obtenerEventoDeCatedra(Long id);
+
     boolean bloquearAsientos(Long eventoId, List<Asiento> asientos);
 
     Venta realizarVenta(Long eventoId, BigDecimal precioVenta, List<Asiento> asientos);
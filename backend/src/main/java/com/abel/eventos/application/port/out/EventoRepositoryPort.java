@@ -4,16 +4,21 @@ import com.abel.eventos.domain.model.Evento;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface EventoRepositoryPort {
 
     Evento guardar(Evento evento);
 
+    void guardarTodos(List<Evento> eventos);
+
     Optional<Evento> buscarPorId(Long id);
 
     List<Evento> buscarTodos();
 
     void eliminarPorId(Long id);
 
+    int eliminarExcepto(Set<Long> idsVigentes);
+
     boolean existePorId(Long id);
-}
+}
\ No newline at end of file
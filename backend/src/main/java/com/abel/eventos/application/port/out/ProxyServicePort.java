@@ -3,10 +3,13 @@ package com.abel.eventos.application.port.out;
 import com.abel.eventos.domain.model.Asiento;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface ProxyServicePort {
 
     List<Asiento> obtenerAsientosOcupados(Long eventoId);
 
+    CompletableFuture<List<Asiento>> obtenerAsientosOcupadosAsync(Long eventoId);
+
     boolean verificarDisponibilidad(Long eventoId, List<Asiento> asientos);
 }
\ No newline at end of file
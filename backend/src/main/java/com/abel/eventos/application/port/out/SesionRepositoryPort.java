@@ -14,5 +14,5 @@ public interface SesionRepositoryPort {
 
     void eliminarPorId(Long id);
 
-    void eliminarSesionesExpiradas();
+    int eliminarSesionesExpiradas();
 }
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.abel.eventos.application.port.out;
+
+public interface UsuarioCachePort {
+
+    void invalidar(String username);
+}
\ No newline at end of file
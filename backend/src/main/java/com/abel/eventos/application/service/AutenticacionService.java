@@ -1,13 +1,16 @@
 package com.abel.eventos.application.service;
 
 import com.abel.eventos.application.port.in.AutenticacionUseCase;
+import com.abel.eventos.application.port.out.UsuarioCachePort;
 import com.abel.eventos.application.port.out.UsuarioRepositoryPort;
 import com.abel.eventos.domain.model.Usuario;
 import com.abel.eventos.infrastructure.config.JwtService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -15,22 +18,41 @@ import org.springframework.stereotype.Service;
 public class AutenticacionService implements AutenticacionUseCase {
 
     private final UsuarioRepositoryPort usuarioRepositoryPort;
+    private final UsuarioCachePort usuarioCachePort;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final PasswordEncoder passwordEncoder;
 
     @Override
     public String login(String username, String password) {
         try {
-            authenticationManager.authenticate(
+            Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(username, password)
             );
 
-            return jwtService.generarToken(username);
+            // El ID va en el token para no buscarlo en cada request
+            return jwtService.generarToken(authentication);
         } catch (AuthenticationException e) {
             throw new RuntimeException("Credenciales invalidas");
         }
     }
 
+    /**
+     * Registra al usuario (con la contraseña en texto plano) y devuelve su token.
+     * No pasa por authenticate(): la contraseña se acaba de hashear, verificarla
+     * de nuevo costaría un segundo BCrypt completo.
+     */
+    @Override
+    public String registrar(Usuario usuario) {
+        usuario.setPassword(passwordEncoder.encode(usuario.getPassword()));
+        Usuario guardado = usuarioRepositoryPort.guardar(usuario);
+
+        // No seguir autenticando con datos cacheados del mismo username
+        usuarioCachePort.invalidar(guardado.getUsername());
+
+        return jwtService.generarToken(guardado.getUsername(), guardado.getId());
+    }
+
     @Override
     public void logout(String token) {
         // En JWT stateless, el logout se maneja en el cliente
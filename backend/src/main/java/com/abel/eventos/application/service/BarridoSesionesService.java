@@ -0,0 +1,51 @@
+package com.abel.eventos.application.service;
+
+import com.abel.eventos.application.port.out.SesionRepositoryPort;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Barre periódicamente las sesiones de compra expiradas.
+ * <p>
+ * El intervalo se configura con {@code sesiones.barrido.intervalo-ms}. Publica
+ * cuántas sesiones se eliminaron en cada barrido y cuánto tardó.
+ */
+@Service
+@Slf4j
+public class BarridoSesionesService {
+
+    private final SesionRepositoryPort sesionRepositoryPort;
+
+    private final Counter expiradas;
+    private final DistributionSummary expiradasPorBarrido;
+    private final Timer duracion;
+
+    public BarridoSesionesService(SesionRepositoryPort sesionRepositoryPort, MeterRegistry meterRegistry) {
+        this.sesionRepositoryPort = sesionRepositoryPort;
+        this.expiradas = meterRegistry.counter("sesiones.expiradas");
+        this.expiradasPorBarrido = meterRegistry.summary("sesiones.barrido.expiradas");
+        this.duracion = meterRegistry.timer("sesiones.barrido.duracion");
+    }
+
+    @Scheduled(fixedDelayString = "${sesiones.barrido.intervalo-ms:60000}",
+            initialDelayString = "${sesiones.barrido.intervalo-ms:60000}")
+    public void barrer() {
+        try {
+            Integer eliminadas = duracion.recordCallable(sesionRepositoryPort::eliminarSesionesExpiradas);
+            int total = eliminadas != null ? eliminadas : 0;
+
+            expiradas.increment(total);
+            expiradasPorBarrido.record(total);
+            if (total > 0) {
+                log.info("Barrido de sesiones: {} sesiones expiradas eliminadas", total);
+            }
+        } catch (Exception e) {
+            log.error("Error en el barrido de sesiones expiradas: {}", e.getMessage(), e);
+        }
+    }
+}
\ No newline at end of file
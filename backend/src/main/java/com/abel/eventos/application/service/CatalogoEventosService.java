@@ -0,0 +1,249 @@
+package com.abel.eventos.application.service;
+
+import com.abel.eventos.application.port.out.CatedraServicePort;
+import com.abel.eventos.application.port.out.EventoRepositoryPort;
+import com.abel.eventos.domain.model.Evento;
+import com.abel.eventos.domain.model.EventoTipo;
+import com.abel.eventos.domain.model.Integrante;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Catalogo de eventos con lectura en niveles: memoria, BD local y Cátedra.
+ * <p>
+ * La BD local es el espejo que mantiene sincronizarEventos(), por lo que
+ * Cátedra solo se consulta cuando ninguno de los dos niveles tiene el dato.
+ * El nivel en memoria se descarta con cada notificación de sincronización; los
+ * eventos sueltos van a una cache acotada y con TTL.
+ * <p>
+ * Cada evento del espejo trae su última modificación (ultimaActualizacion), la
+ * misma para todas las instancias que comparten la BD: quien guarde datos
+ * derivados (p. ej. el snapshot del evento en la sesión de compra) la compara
+ * para saber si quedaron viejos.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogoEventosService {
+
+    private final EventoRepositoryPort eventoRepositoryPort;
+    private final CatedraServicePort catedraServicePort;
+    @Qualifier("applicationTaskExecutor")
+    private final Executor ejecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${catalogo.eventos.cache.max-eventos:10000}")
+    private long maxEventos;
+
+    @Value("${catalogo.eventos.cache.ttl-segundos:600}")
+    private long ttlSegundos;
+
+    private Cache<Long, Evento> eventosPorId;
+    private volatile List<Evento> listado;
+
+    // Cuenta las invalidaciones, para no dejar en memoria algo leído antes de una
+    private final AtomicLong generacion = new AtomicLong();
+
+    @PostConstruct
+    void inicializar() {
+        eventosPorId = Caffeine.newBuilder()
+                .maximumSize(maxEventos)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, eventosPorId, "catalogo.eventos");
+    }
+
+    /**
+     * Devuelve el listado compartido, sin copiarlo: la lista no se puede modificar
+     * y los eventos son de solo lectura para quien la recibe.
+     */
+    public List<Evento> listarEventos() {
+        List<Evento> actual = listado;
+        if (actual != null) {
+            return actual;
+        }
+
+        // Tomar la versión antes de leer: si se invalida en el medio, lo leído puede ser viejo
+        long generacionLeida = generacion.get();
+
+        // Nivel 2: espejo local en la BD
+        List<Evento> eventos = eventoRepositoryPort.buscarTodos();
+
+        // Nivel 3: Cátedra, solo si el espejo todavía está vacío
+        if (eventos.isEmpty()) {
+            log.debug("Catalogo local vacio, consultando a Catedra");
+            eventos = catedraServicePort.obtenerEventosResumidos();
+
+            // No cachear una respuesta vacía (puede ser un error de conexión)
+            if (eventos.isEmpty()) {
+                return eventos;
+            }
+        }
+
+        // Igual que instalar(): si se invalidó mientras se leía, no dejar lo leído
+        List<Evento> nuevo = congelar(eventos);
+        listado = nuevo;
+        if (generacion.get() != generacionLeida && listado == nuevo) {
+            listado = null;
+        }
+        return nuevo;
+    }
+
+    public Optional<Evento> obtenerEvento(Long eventoId) {
+        Optional<Evento> local = obtenerEventoLocal(eventoId);
+        if (local.isPresent()) {
+            return local;
+        }
+
+        // Nivel 3: Cátedra, y se completa el espejo local con el resultado
+        log.debug("Evento {} no esta en el catalogo local, consultando a Catedra", eventoId);
+        long generacionLeida = generacion.get();
+        return registrarRemoto(eventoId, catedraServicePort.obtenerEventoPorId(eventoId), generacionLeida);
+    }
+
+    /**
+     * Igual que obtenerEvento, pero si hay que ir a Cátedra no bloquea al
+     * llamador: sirve para combinar el evento con otras consultas en paralelo.
+     */
+    public CompletableFuture<Optional<Evento>> obtenerEventoAsync(Long eventoId) {
+        Optional<Evento> local = obtenerEventoLocal(eventoId);
+        if (local.isPresent()) {
+            return CompletableFuture.completedFuture(local);
+        }
+
+        log.debug("Evento {} no esta en el catalogo local, consultando a Catedra", eventoId);
+        long generacionLeida = generacion.get();
+        // Guardar en el espejo es JDBC bloqueante: fuera del hilo del HttpClient
+        return catedraServicePort.obtenerEventoPorIdAsync(eventoId)
+                .thenApplyAsync(remoto -> registrarRemoto(eventoId, remoto, generacionLeida), ejecutor);
+    }
+
+    private Optional<Evento> obtenerEventoLocal(Long eventoId) {
+        Evento enMemoria = eventosPorId.getIfPresent(eventoId);
+        if (enMemoria != null) {
+            return Optional.of(copiar(enMemoria));
+        }
+
+        // Nivel 2: espejo local en la BD
+        long generacionLeida = generacion.get();
+        Optional<Evento> local = eventoRepositoryPort.buscarPorId(eventoId);
+        local.ifPresent(evento -> instalar(eventoId, evento, generacionLeida));
+        return local.map(this::copiar);
+    }
+
+    private Optional<Evento> registrarRemoto(Long eventoId, Evento remoto, long generacionLeida) {
+        if (remoto == null) {
+            return Optional.empty();
+        }
+
+        try {
+            eventoRepositoryPort.guardar(remoto);
+        } catch (Exception e) {
+            log.warn("No se pudo guardar el evento {} en el catalogo local: {}", eventoId, e.getMessage());
+        }
+
+        instalar(eventoId, remoto, generacionLeida);
+        return Optional.of(copiar(remoto));
+    }
+
+    /**
+     * Deja el evento en memoria solo si el catálogo no se invalidó desde que
+     * se empezó a leer. invalidar() sube la generación antes de descartar, así
+     * que o bien se ve aquí el cambio, o bien la invalidación borra lo que se
+     * acaba de dejar.
+     */
+    private void instalar(Long eventoId, Evento evento, long generacionLeida) {
+        eventosPorId.put(eventoId, evento);
+        if (generacion.get() != generacionLeida) {
+            eventosPorId.asMap().remove(eventoId, evento);
+        }
+    }
+
+    /**
+     * Los eventos sueltos se entregan copiados: quien los lee trabaja sobre
+     * una copia, así un cambio del llamador no altera el catálogo.
+     */
+    private Evento copiar(Evento evento) {
+        EventoTipo tipo = evento.getEventoTipo();
+        List<Integrante> integrantes = null;
+        if (evento.getIntegrantes() != null) {
+            integrantes = new ArrayList<>(evento.getIntegrantes().size());
+            for (Integrante integrante : evento.getIntegrantes()) {
+                integrantes.add(new Integrante(
+                        integrante.getId(),
+                        integrante.getNombre(),
+                        integrante.getApellido(),
+                        integrante.getIdentificacion()
+                ));
+            }
+        }
+
+        return new Evento(
+                evento.getId(),
+                evento.getTitulo(),
+                evento.getResumen(),
+                evento.getDescripcion(),
+                evento.getFecha(),
+                evento.getDireccion(),
+                evento.getImagen(),
+                evento.getFilaAsientos(),
+                evento.getColumnaAsientos(),
+                evento.getPrecioEntrada(),
+                tipo != null ? new EventoTipo(tipo.getId(), tipo.getNombre(), tipo.getDescripcion()) : null,
+                integrantes,
+                evento.getUltimaActualizacion()
+        );
+    }
+
+    /**
+     * Listas inmodificables para el listado compartido; los eventos los acaba de
+     * leer este servicio, así que no hace falta copiarlos.
+     */
+    private static List<Evento> congelar(List<Evento> eventos) {
+        for (Evento evento : eventos) {
+            if (evento.getIntegrantes() != null) {
+                evento.setIntegrantes(List.copyOf(evento.getIntegrantes()));
+            }
+        }
+        return List.copyOf(eventos);
+    }
+
+    /**
+     * Descarta el nivel en memoria. Se llama después de cada sincronización.
+     */
+    public void invalidar() {
+        // Primero la generación: una lectura en curso que instale después de esto la descarta
+        generacion.incrementAndGet();
+        eventosPorId.invalidateAll();
+        listado = null;
+        log.debug("Catalogo de eventos en memoria invalidado");
+    }
+
+    /**
+     * Descarta solo los eventos indicados y el listado, que puede contenerlos.
+     */
+    public void invalidar(Collection<Long> eventosIds) {
+        generacion.incrementAndGet();
+        eventosPorId.invalidateAll(eventosIds);
+        listado = null;
+        log.debug("Eventos {} invalidados del catalogo en memoria", eventosIds);
+    }
+}
\ No newline at end of file
@@ -5,85 +5,118 @@ import com.abel.eventos.application.port.out.CatedraServicePort;
 import com.abel.eventos.application.port.out.EventoRepositoryPort;
 import com.abel.eventos.application.port.out.ProxyServicePort;
 import com.abel.eventos.domain.model.Asiento;
-import com.abel.eventos.domain.model.AsientoEstado;
 import com.abel.eventos.domain.model.Evento;
+import com.abel.eventos.domain.model.MapaAsientos;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class GestionEventosService implements GestionEventosUseCase {
 
     private final EventoRepositoryPort eventoRepositoryPort;
     private final CatedraServicePort catedraServicePort;
     private final ProxyServicePort proxyServicePort;
+    private final CatalogoEventosService catalogoEventosService;
+
+    @Value("${sync.eventos.lote:100}")
+    private int tamanoLote;
 
     @Override
     public List<Evento> listarEventosResumidos() {
-        // Obtener eventos directamente desde la API de Catedra
-        return catedraServicePort.obtenerEventosResumidos();
+        // Memoria -> BD local -> Cátedra
+        return catalogoEventosService.listarEventos();
     }
 
     @Override
     public Evento obtenerEventoDetalle(Long eventoId) {
-        // Obtener detalle desde la API de Catedra
-        Evento evento = catedraServicePort.obtenerEventoPorId(eventoId);
-
-        if (evento == null) {
-            throw new RuntimeException("Evento no encontrado: " + eventoId);
-        }
-
-        return evento;
+        // Memoria -> BD local -> Cátedra
+        return catalogoEventosService.obtenerEvento(eventoId)
+                .orElseThrow(() -> new RuntimeException("Evento no encontrado: " + eventoId));
     }
 
     @Override
-    public List<Asiento> obtenerAsientosEvento(Long eventoId) {
-        Evento evento = obtenerEventoDetalle(eventoId);
-
-        // Obtener asientos ocupados/bloqueados desde el Proxy (Redis de catedra)
-        List<Asiento> asientosOcupados = proxyServicePort.obtenerAsientosOcupados(eventoId);
-
-        // Generar mapa completo de asientos
-        List<Asiento> todosLosAsientos = new ArrayList<>();
-
-        for (int fila = 1; fila <= evento.getFilaAsientos(); fila++) {
-            for (int columna = 1; columna <= evento.getColumnaAsientos(); columna++) {
-                final int filaActual = fila;
-                final int columnaActual = columna;
-
-                // Buscar si este asiento esta ocupado/bloqueado
-                Asiento asientoExistente = asientosOcupados.stream()
-                        .filter(a -> a.getFila().equals(filaActual) && a.getColumna().equals(columnaActual))
-                        .findFirst()
-                        .orElse(null);
+    public MapaAsientos obtenerAsientosEvento(Long eventoId) {
+        // Ocupación (Proxy, Redis de catedra) y datos del evento en paralelo:
+        // la latencia es la de la llamada más lenta, no la suma de las dos
+        CompletableFuture<List<Asiento>> asientosOcupados = proxyServicePort.obtenerAsientosOcupadosAsync(eventoId);
+        CompletableFuture<Evento> evento = catalogoEventosService.obtenerEventoAsync(eventoId)
+                .thenApply(encontrado -> encontrado
+                        .orElseThrow(() -> new RuntimeException("Evento no encontrado: " + eventoId)));
+
+        // Armar el mapa en una sola pasada; los asientos no marcados quedan libres
+        return esperar(evento.thenCombine(asientosOcupados, (e, ocupados) ->
+                MapaAsientos.desde(e.getFilaAsientos(), e.getColumnaAsientos(), ocupados)));
+    }
 
-                if (asientoExistente != null) {
-                    todosLosAsientos.add(asientoExistente);
-                } else {
-                    // Asiento libre
-                    Asiento asientoLibre = new Asiento();
-                    asientoLibre.setFila(fila);
-                    asientoLibre.setColumna(columna);
-                    asientoLibre.setEstado(AsientoEstado.LIBRE);
-                    todosLosAsientos.add(asientoLibre);
-                }
+    @Override
+    public void sincronizarEventos() {
+        try {
+            // Leer el catálogo de Cátedra en streaming y guardar cada lote en la BD
+            // local (cache/respaldo) a medida que llega, sin tenerlo entero en memoria
+            Set<Long> vistos = new HashSet<>();
+            int total = catedraServicePort.recorrerEventosCompletos(tamanoLote, lote -> {
+                eventoRepositoryPort.guardarTodos(lote);
+                lote.forEach(evento -> vistos.add(evento.getId()));
+            });
+            log.debug("Sincronizacion completa: {} eventos", total);
+
+            // Se llega aquí solo con el catálogo leído entero (si Cátedra falla a mitad,
+            // la excepción corta antes). Una respuesta vacía no vacía el espejo
+            if (total > 0) {
+                eventoRepositoryPort.eliminarExcepto(vistos);
             }
+        } finally {
+            // Descartar lo cacheado en memoria para que se lea el espejo actualizado
+            catalogoEventosService.invalidar();
         }
-
-        return todosLosAsientos;
     }
 
     @Override
-    public void sincronizarEventos() {
-        // Obtener todos los eventos desde Catedra
-        List<Evento> eventosCatedra = catedraServicePort.obtenerEventosCompletos();
+    public void sincronizarEventos(Collection<Long> eventosIds) {
+        try {
+            // Traer de Cátedra solo los eventos afectados
+            List<Evento> eventos = new ArrayList<>();
+            List<Long> bajas = new ArrayList<>();
+            for (Long eventoId : eventosIds) {
+                // null solo si Cátedra respondió que no existe. Cualquier otra falla
+                // corta la sincronización sin guardar nada, y quien la pidió la reintenta
+                Evento evento = catedraServicePort.obtenerEventoDeCatedra(eventoId);
+                if (evento == null) {
+                    bajas.add(eventoId);
+                    continue;
+                }
+                eventos.add(evento);
+            }
+            eventoRepositoryPort.guardarTodos(eventos);
+            for (Long eventoId : bajas) {
+                log.info("Evento {} ya no existe en Catedra, se elimina del catalogo local", eventoId);
+                eventoRepositoryPort.eliminarPorId(eventoId);
+            }
+        } finally {
+            catalogoEventosService.invalidar(eventosIds);
+        }
+    }
 
-        // Guardar/actualizar en la BD local (para cache/respaldo)
-        for (Evento evento : eventosCatedra) {
-            eventoRepositoryPort.guardar(evento);
+    private <T> T esperar(CompletableFuture<T> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
         }
     }
 }
\ No newline at end of file
@@ -2,8 +2,10 @@ package com.abel.eventos.application.service;
 
 import com.abel.eventos.application.port.in.GestionSesionUseCase;
 import com.abel.eventos.application.port.out.SesionRepositoryPort;
+import com.abel.eventos.domain.model.Evento;
 import com.abel.eventos.domain.model.Sesion;
 import com.abel.eventos.domain.model.SesionEstado;
+import com.abel.eventos.domain.model.SnapshotEvento;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -16,6 +18,7 @@ import java.util.ArrayList;
 public class GestionSesionService implements GestionSesionUseCase {
 
     private final SesionRepositoryPort sesionRepositoryPort;
+    private final CatalogoEventosService catalogoEventosService;
 
     private static final int MINUTOS_EXPIRACION = 30;
 
@@ -28,6 +31,9 @@ public class GestionSesionService implements GestionSesionUseCase {
 
     @Override
     public Sesion iniciarSesionCompra(Long usuarioId, Long eventoId) {
+        Evento evento = catalogoEventosService.obtenerEvento(eventoId)
+                .orElseThrow(() -> new RuntimeException("Evento no encontrado: " + eventoId));
+
         // Eliminar sesion anterior si existe
         sesionRepositoryPort.buscarPorUsuarioId(usuarioId)
                 .ifPresent(sesion -> sesionRepositoryPort.eliminarPorId(sesion.getId()));
@@ -40,6 +46,7 @@ public class GestionSesionService implements GestionSesionUseCase {
         nuevaSesion.setAsientosSeleccionados(new ArrayList<>());
         nuevaSesion.setCreadoEn(Instant.now());
         nuevaSesion.setUltimaActividad(Instant.now());
+        nuevaSesion.setSnapshotEvento(SnapshotEvento.de(evento));
 
         return sesionRepositoryPort.guardar(nuevaSesion);
     }
@@ -5,32 +5,46 @@ import com.abel.eventos.application.port.out.CatedraServicePort;
 import com.abel.eventos.application.port.out.ProxyServicePort;
 import com.abel.eventos.application.port.out.SesionRepositoryPort;
 import com.abel.eventos.application.port.out.VentaRepositoryPort;
+import com.abel.eventos.domain.exception.ConflictoSesionException;
 import com.abel.eventos.domain.model.Asiento;
 import com.abel.eventos.domain.model.Evento;
 import com.abel.eventos.domain.model.Sesion;
 import com.abel.eventos.domain.model.SesionEstado;
+import com.abel.eventos.domain.model.SnapshotEvento;
 import com.abel.eventos.domain.model.Venta;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class RealizarVentaService implements RealizarVentaUseCase {
 
     private final SesionRepositoryPort sesionRepositoryPort;
     private final VentaRepositoryPort ventaRepositoryPort;
     private final ProxyServicePort proxyServicePort;
     private final CatedraServicePort catedraServicePort;
+    private final CatalogoEventosService catalogoEventosService;
 
     private static final int MAX_ASIENTOS = 4;
 
+    // Tiempo máximo que una sesión puede quedar reclamada por una llamada a Cátedra
+    @Value("${sesiones.reclamo-ms:120000}")
+    private long reclamoMs;
+
     @Override
     public boolean seleccionarAsientos(Long usuarioId, Long eventoId, List<Asiento> asientos) {
         // Obtener sesión activa primero
         Sesion sesion = obtenerSesionActiva(usuarioId);
+        validarPaso(sesion, SesionEstado.ASIENTOS_SELECCIONADOS);
 
         // Validar que el evento coincida con la sesión
         if (!sesion.getEventoId().equals(eventoId)) {
@@ -44,14 +58,8 @@ public class RealizarVentaService implements RealizarVentaUseCase {
             throw new RuntimeException("No se pueden seleccionar mas de " + MAX_ASIENTOS + " asientos");
         }
 
-        // Obtener evento para validar dimensiones
-        Evento evento = catedraServicePort.obtenerEventoPorId(eventoId);
-        if (evento == null) {
-            throw new RuntimeException("Evento no encontrado: " + eventoId);
-        }
-
-        // Validar que los asientos esten dentro del rango del evento
-        validarRangoAsientos(asientos, evento);
+        // Validar que los asientos esten dentro del rango del evento (snapshot de la sesión)
+        validarRangoAsientos(asientos, obtenerSnapshot(sesion));
 
         // Verificar disponibilidad
         if (!proxyServicePort.verificarDisponibilidad(eventoId, asientos)) {
@@ -60,16 +68,16 @@ public class RealizarVentaService implements RealizarVentaUseCase {
 
         // Actualizar sesion con asientos seleccionados
         sesion.setAsientosSeleccionados(asientos);
-        sesion.setEstado(SesionEstado.ASIENTOS_SELECCIONADOS);
+        sesion.cambiarEstado(SesionEstado.ASIENTOS_SELECCIONADOS);
         sesion.setUltimaActividad(Instant.now());
         sesionRepositoryPort.guardar(sesion);
 
         return true;
     }
 
-    private void validarRangoAsientos(List<Asiento> asientos, Evento evento) {
-        int maxFilas = evento.getFilaAsientos();
-        int maxColumnas = evento.getColumnaAsientos();
+    private void validarRangoAsientos(List<Asiento> asientos, SnapshotEvento evento) {
+        int maxFilas = evento.filas();
+        int maxColumnas = evento.columnas();
 
         for (Asiento asiento : asientos) {
             if (asiento.getFila() < 1 || asiento.getFila() > maxFilas) {
@@ -89,24 +97,34 @@ public class RealizarVentaService implements RealizarVentaUseCase {
     public boolean bloquearAsientos(Long usuarioId) {
         Sesion sesion = obtenerSesionActiva(usuarioId);
 
-        // Bloquear asientos en el servicio de catedra
-        boolean bloqueado = catedraServicePort.bloquearAsientos(
-                sesion.getEventoId(),
-                sesion.getAsientosSeleccionados()
-        );
+        // Reclamar la sesión antes de llamar a Cátedra: de dos bloqueos concurrentes
+        // (doble tap) solo uno guarda BLOQUEANDO_ASIENTOS; el otro choca con la versión
+        sesion = avanzar(sesion, SesionEstado.BLOQUEANDO_ASIENTOS);
+
+        boolean bloqueado;
+        try {
+            bloqueado = catedraServicePort.bloquearAsientos(
+                    sesion.getEventoId(),
+                    sesion.getAsientosSeleccionados()
+            );
+        } catch (RuntimeException e) {
+            revertir(sesion, SesionEstado.ASIENTOS_SELECCIONADOS);
+            throw e;
+        }
 
-        if (bloqueado) {
-            sesion.setEstado(SesionEstado.CARGANDO_DATOS);
-            sesion.setUltimaActividad(Instant.now());
-            sesionRepositoryPort.guardar(sesion);
+        if (!bloqueado) {
+            revertir(sesion, SesionEstado.ASIENTOS_SELECCIONADOS);
+            return false;
         }
 
-        return bloqueado;
+        avanzar(sesion, SesionEstado.CARGANDO_DATOS);
+        return true;
     }
 
     @Override
     public boolean asignarPersonasAAsientos(Long usuarioId, List<Asiento> asientosConPersona) {
         Sesion sesion = obtenerSesionActiva(usuarioId);
+        validarPaso(sesion, SesionEstado.CONFIRMANDO_VENTA);
 
         // Validar que la cantidad de asientos coincida
         if (asientosConPersona.size() != sesion.getAsientosSeleccionados().size()) {
@@ -117,23 +135,27 @@ public class RealizarVentaService implements RealizarVentaUseCase {
         validarAsientosCoinciden(asientosConPersona, sesion.getAsientosSeleccionados());
 
         // Validar que todos tengan persona asignada
-        for (Asiento asiento : asientosConPersona) {
-            if (asiento.getPersona() == null || asiento.getPersona().trim().isEmpty()) {
-                throw new RuntimeException(
-                        String.format("El asiento fila %d, columna %d no tiene persona asignada",
-                                asiento.getFila(), asiento.getColumna()));
-            }
-        }
+        validarPersonas(asientosConPersona);
 
         // Actualizar asientos con nombres de personas
         sesion.setAsientosSeleccionados(asientosConPersona);
-        sesion.setEstado(SesionEstado.CONFIRMANDO_VENTA);
+        sesion.cambiarEstado(SesionEstado.CONFIRMANDO_VENTA);
         sesion.setUltimaActividad(Instant.now());
         sesionRepositoryPort.guardar(sesion);
 
         return true;
     }
 
+    private void validarPersonas(List<Asiento> asientosConPersona) {
+        for (Asiento asiento : asientosConPersona) {
+            if (asiento.getPersona() == null || asiento.getPersona().trim().isEmpty()) {
+                throw new RuntimeException(
+                        String.format("El asiento fila %d, columna %d no tiene persona asignada",
+                                asiento.getFila(), asiento.getColumna()));
+            }
+        }
+    }
+
     private void validarAsientosCoinciden(List<Asiento> asientosConPersona, List<Asiento> asientosSeleccionados) {
         for (Asiento conPersona : asientosConPersona) {
             boolean encontrado = asientosSeleccionados.stream()
@@ -151,27 +173,162 @@ public class RealizarVentaService implements RealizarVentaUseCase {
     public Venta confirmarVenta(Long usuarioId) {
         Sesion sesion = obtenerSesionActiva(usuarioId);
 
-        // Obtener precio del evento desde Catedra
-        Evento evento = catedraServicePort.obtenerEventoPorId(sesion.getEventoId());
-        if (evento == null) {
-            throw new RuntimeException("Evento no encontrado");
-        }
+        // Precio del evento según el snapshot de la sesión
+        SnapshotEvento evento = obtenerSnapshot(sesion);
+
+        // Solo se confirma con los asientos bloqueados y las personas asignadas, y
+        // la sesión se reclama antes de vender: un segundo /confirmar concurrente
+        // choca con la versión y no llega a Cátedra
+        sesion = avanzar(sesion, SesionEstado.PROCESANDO_VENTA);
+
+        // Realizar venta en el servicio de catedra, con el precio confirmado por Cátedra
+        Venta venta;
+        try {
+            String fallo = verificarPrecio(sesion.getEventoId(), evento.precioEntrada());
+            if (fallo != null) {
+                revertir(sesion, SesionEstado.CONFIRMANDO_VENTA);
+                return ventaFallida(usuarioId, sesion.getEventoId(), fallo);
+            }
 
-        // Realizar venta en el servicio de catedra
-        Venta venta = catedraServicePort.realizarVenta(
-                sesion.getEventoId(),
-                evento.getPrecioEntrada(),
-                sesion.getAsientosSeleccionados()
-        );
+            venta = catedraServicePort.realizarVenta(
+                    sesion.getEventoId(),
+                    evento.precioEntrada(),
+                    sesion.getAsientosSeleccionados()
+            );
+        } catch (RuntimeException e) {
+            revertir(sesion, SesionEstado.CONFIRMANDO_VENTA);
+            throw e;
+        }
 
         // Asignar el usuario que realizó la venta
         venta.setUsuarioId(usuarioId);
 
-        // Si la venta falló en Cátedra, retornar sin guardar localmente
+        // Si la venta falló en Cátedra, no se guarda localmente y se puede reintentar
+        if (venta.getResultado() == null || !venta.getResultado()) {
+            revertir(sesion, SesionEstado.CONFIRMANDO_VENTA);
+            return venta;
+        }
+
+        return registrarVenta(venta, sesion);
+    }
+
+    /**
+     * Compra en un solo paso: valida localmente, verifica en el Proxy, bloquea
+     * y vende en Cátedra, sin ida y vuelta con el cliente entre cada paso.
+     * La sesión del usuario se reclama con control de versión antes de las
+     * llamadas remotas, así un doble envío no hace dos compras. Si la venta falla
+     * con los asientos ya bloqueados, la sesión queda en CONFIRMANDO_VENTA para
+     * reintentar con /confirmar.
+     */
+    @Override
+    public Venta compraExpress(Long usuarioId, Long eventoId, List<Asiento> asientosConPersona) {
+        // 1. Validaciones locales, sin llamadas remotas
+        if (asientosConPersona == null || asientosConPersona.isEmpty()) {
+            throw new RuntimeException("Debe seleccionar al menos un asiento");
+        }
+        if (asientosConPersona.size() > MAX_ASIENTOS) {
+            throw new RuntimeException("No se pueden seleccionar mas de " + MAX_ASIENTOS + " asientos");
+        }
+        validarPersonas(asientosConPersona);
+        validarSinRepetidos(asientosConPersona);
+
+        Evento evento = catalogoEventosService.obtenerEvento(eventoId)
+                .orElseThrow(() -> new RuntimeException("Evento no encontrado: " + eventoId));
+        SnapshotEvento snapshot = SnapshotEvento.de(evento);
+        validarRangoAsientos(asientosConPersona, snapshot);
+
+        // 2. Reclamar la sesión del usuario antes de cualquier llamada remota. La
+        // existente se reutiliza y se guarda con control de versión; una compra
+        // concurrente del mismo usuario (doble tap) choca con la versión o con el alta
+        Sesion sesion = sesionRepositoryPort.buscarPorUsuarioId(usuarioId)
+                .map(this::recuperarReclamoVencido)
+                .orElse(null);
+        if (sesion != null && sesion.getEstado().enCurso()) {
+            throw new ConflictoSesionException("Ya hay una compra en curso para el usuario");
+        }
+
+        // Copia de la sesión previa para restaurarla si la compra no llega a bloquear;
+        // null cuando la crea la compra express, que entonces la elimina
+        Sesion anterior = sesion == null ? null : copiar(sesion);
+        Instant ahora = Instant.now();
+        if (sesion == null) {
+            sesion = new Sesion();
+            sesion.setUsuarioId(usuarioId);
+            sesion.setCreadoEn(ahora);
+        }
+        sesion.setEventoId(eventoId);
+        // Reinicio del proceso: no es un paso del flujo, por eso no pasa por cambiarEstado
+        sesion.setEstado(SesionEstado.PROCESANDO_VENTA);
+        sesion.setAsientosSeleccionados(asientosConPersona);
+        sesion.setUltimaActividad(ahora);
+        sesion.setSnapshotEvento(snapshot);
+        sesion = sesionRepositoryPort.guardar(sesion);
+
+        // 3. Pipeline remoto: Proxy -> precio vigente en Cátedra -> bloqueo -> venta
+        // Hasta que el bloqueo sale bien no hay nada retenido en Cátedra: ante un
+        // fallo basta con devolver la sesión a como estaba
+        String fallo = null;
+        try {
+            if (!proxyServicePort.verificarDisponibilidad(eventoId, asientosConPersona)) {
+                fallo = "Algunos asientos no estan disponibles";
+            } else {
+                fallo = verificarPrecio(eventoId, snapshot.precioEntrada());
+                if (fallo == null && !catedraServicePort.bloquearAsientos(eventoId, asientosConPersona)) {
+                    fallo = "No se pudieron bloquear los asientos";
+                }
+            }
+        } catch (RuntimeException e) {
+            restaurar(sesion, anterior);
+            throw e;
+        }
+        if (fallo != null) {
+            restaurar(sesion, anterior);
+            return ventaFallida(usuarioId, eventoId, fallo);
+        }
+
+        Venta venta;
+        try {
+            venta = catedraServicePort.realizarVenta(eventoId, snapshot.precioEntrada(), asientosConPersona);
+        } catch (RuntimeException e) {
+            revertir(sesion, SesionEstado.CONFIRMANDO_VENTA);
+            throw e;
+        }
+        venta.setUsuarioId(usuarioId);
+
         if (venta.getResultado() == null || !venta.getResultado()) {
+            // Los asientos ya están bloqueados y las personas asignadas: la sesión queda
+            // lista para reintentar con /confirmar mientras dure el bloqueo
+            revertir(sesion, SesionEstado.CONFIRMANDO_VENTA);
             return venta;
         }
 
+        return registrarVenta(venta, sesion);
+    }
+
+    private void validarSinRepetidos(List<Asiento> asientos) {
+        Set<String> posiciones = new HashSet<>();
+        for (Asiento asiento : asientos) {
+            if (!posiciones.add(asiento.getFila() + ":" + asiento.getColumna())) {
+                throw new RuntimeException(
+                        String.format("El asiento fila %d, columna %d esta repetido",
+                                asiento.getFila(), asiento.getColumna()));
+            }
+        }
+    }
+
+    private Venta ventaFallida(Long usuarioId, Long eventoId, String descripcion) {
+        Venta venta = new Venta();
+        venta.setUsuarioId(usuarioId);
+        venta.setEventoId(eventoId);
+        venta.setResultado(false);
+        venta.setDescripcion(descripcion);
+        return venta;
+    }
+
+    /**
+     * Guarda localmente una venta ya realizada en Cátedra y cierra la sesión.
+     */
+    private Venta registrarVenta(Venta venta, Sesion sesion) {
         // Intentar guardar venta localmente
         try {
             venta.setFechaVenta(Instant.now());
@@ -200,8 +357,117 @@ public class RealizarVentaService implements RealizarVentaUseCase {
         sesionRepositoryPort.eliminarPorId(sesion.getId());
     }
 
+    /**
+     * Devuelve el snapshot del evento de la sesión. Si no tiene o el evento
+     * cambió en el catálogo local desde que se tomó, lo vuelve a tomar; se
+     * guarda con la sesión en la siguiente escritura. Un evento eliminado del
+     * catálogo corta la compra.
+     */
+    private SnapshotEvento obtenerSnapshot(Sesion sesion) {
+        Evento evento = catalogoEventosService.obtenerEvento(sesion.getEventoId())
+                .orElseThrow(() -> new RuntimeException("Evento no encontrado: " + sesion.getEventoId()));
+
+        SnapshotEvento snapshot = sesion.getSnapshotEvento();
+        if (snapshot != null && snapshot.versionEvento() == SnapshotEvento.versionDe(evento)) {
+            return snapshot;
+        }
+
+        snapshot = SnapshotEvento.de(evento);
+        sesion.setSnapshotEvento(snapshot);
+        return snapshot;
+    }
+
+    /**
+     * El precio se cobra del snapshot, que sale del espejo local. Antes de vender
+     * se compara con el de Cátedra: si la sincronización está atrasada o caída,
+     * la venta se rechaza en lugar de cobrar un precio viejo.
+     *
+     * @return el motivo para no vender, o null si el precio está vigente
+     * @throws RuntimeException si Cátedra no responde
+     */
+    private String verificarPrecio(Long eventoId, BigDecimal precio) {
+        Evento actual = catedraServicePort.obtenerEventoDeCatedra(eventoId);
+        if (actual == null) {
+            return "El evento ya no existe";
+        }
+        if (actual.getPrecioEntrada() == null || precio == null
+                || actual.getPrecioEntrada().compareTo(precio) != 0) {
+            log.warn("Precio del evento {} desactualizado: sesion {}, Catedra {}",
+                    eventoId, precio, actual.getPrecioEntrada());
+            return "El precio del evento cambio, intente nuevamente en unos segundos";
+        }
+        return null;
+    }
+
+    /**
+     * Pasa la sesión al estado indicado y la guarda con control de versión.
+     *
+     * @throws ConflictoSesionException si el paso no es válido o la sesión cambió desde que se leyó
+     */
+    private Sesion avanzar(Sesion sesion, SesionEstado destino) {
+        validarPaso(sesion, destino);
+        sesion.cambiarEstado(destino);
+        sesion.setUltimaActividad(Instant.now());
+        return sesionRepositoryPort.guardar(sesion);
+    }
+
+    /**
+     * Devuelve la sesión al estado anterior después de una llamada fallida a Cátedra.
+     * Si otra operación ya la cambió (p. ej. se canceló), se respeta ese cambio.
+     */
+    private void revertir(Sesion sesion, SesionEstado anterior) {
+        try {
+            avanzar(sesion, anterior);
+        } catch (ConflictoSesionException e) {
+            log.warn("No se pudo devolver la sesion {} a {}: {}", sesion.getId(), anterior, e.getMessage());
+        }
+    }
+
+    private static Sesion copiar(Sesion sesion) {
+        return new Sesion(sesion.getId(), sesion.getUsuarioId(), sesion.getEventoId(), sesion.getEstado(),
+                sesion.getAsientosSeleccionados(), sesion.getCreadoEn(), sesion.getUltimaActividad(),
+                sesion.getVersion(), sesion.getSnapshotEvento());
+    }
+
+    private void restaurar(Sesion sesion, Sesion anterior) {
+        if (anterior == null) {
+            sesionRepositoryPort.eliminarPorId(sesion.getId());
+            return;
+        }
+        // Se guarda sobre la versión reclamada: si otra petición ya la cambió, gana esa
+        anterior.setVersion(sesion.getVersion());
+        try {
+            sesionRepositoryPort.guardar(anterior);
+        } catch (ConflictoSesionException e) {
+            log.warn("No se pudo restaurar la sesion {}: {}", sesion.getId(), e.getMessage());
+        }
+    }
+
+    private void validarPaso(Sesion sesion, SesionEstado destino) {
+        if (!sesion.getEstado().puedePasarA(destino)) {
+            throw new ConflictoSesionException(
+                    String.format("La sesion esta en %s, no se puede pasar a %s", sesion.getEstado(), destino));
+        }
+    }
+
     private Sesion obtenerSesionActiva(Long usuarioId) {
         return sesionRepositoryPort.buscarPorUsuarioId(usuarioId)
+                .map(this::recuperarReclamoVencido)
                 .orElseThrow(() -> new RuntimeException("No hay sesion activa para el usuario"));
     }
+
+    /**
+     * Si la sesión lleva más de {@code reclamoMs} en una llamada en curso, quien la
+     * reclamó ya no la va a revertir: se retoma desde el estado anterior a la llamada.
+     * El cambio solo queda en memoria y se guarda con el siguiente paso, con control
+     * de versión, así de dos peticiones que retoman la misma sesión avanza una sola.
+     */
+    private Sesion recuperarReclamoVencido(Sesion sesion) {
+        if (sesion.getEstado().enCurso()
+                && sesion.getUltimaActividad().isBefore(Instant.now().minusMillis(reclamoMs))) {
+            log.warn("Reclamo vencido de la sesion {} en {}", sesion.getId(), sesion.getEstado());
+            sesion.setEstado(sesion.getEstado().alVencerReclamo());
+        }
+        return sesion;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.abel.eventos.application.service;
+
+import com.abel.eventos.application.port.in.GestionEventosUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Agrupa las notificaciones de cambios en una sola sincronización.
+ * <p>
+ * La primera notificación programa una sincronización para dentro de
+ * {@code sync.ventana-ms}; las que llegan antes de que empiece se suman a ella.
+ * Como hay un único hilo, nunca corre más de una sincronización a la vez y
+ * como mucho queda una pendiente detrás de la que está en curso.
+ * <p>
+ * Si todas las notificaciones agrupadas indican sus eventos, solo se
+ * sincronizan esos; si alguna no los indica, se sincroniza el catálogo completo.
+ * <p>
+ * Si la sincronización falla (Cátedra o la BD no responden), lo que había que
+ * sincronizar vuelve a quedar pendiente y se reintenta con una espera que se
+ * duplica hasta {@code sync.reintento-max-ms}: el Proxy no reenvía la notificación.
+ */
+@Service
+@Slf4j
+public class SincronizacionProgramadaService {
+
+    private final GestionEventosUseCase gestionEventosUseCase;
+    private final long ventanaMs;
+    private final long reintentoMaxMs;
+
+    private final ScheduledExecutorService ejecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread hilo = new Thread(r, "sync-eventos");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    // Estado de la sincronización pendiente, protegido por el lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private boolean pendiente;
+    private boolean completa;
+    private Set<Long> eventosIds = new LinkedHashSet<>();
+    private int fallosSeguidos;
+
+    private final Counter disparos;
+    private final Counter agrupados;
+    private final Counter reintentos;
+    private final Timer duracionCompleta;
+    private final Timer duracionIncremental;
+
+    public SincronizacionProgramadaService(GestionEventosUseCase gestionEventosUseCase,
+                                           MeterRegistry meterRegistry,
+                                           @Value("${sync.ventana-ms:2000}") long ventanaMs,
+                                           @Value("${sync.reintento-max-ms:60000}") long reintentoMaxMs) {
+        this.gestionEventosUseCase = gestionEventosUseCase;
+        this.ventanaMs = ventanaMs;
+        this.reintentoMaxMs = reintentoMaxMs;
+        this.disparos = meterRegistry.counter("sync.eventos.disparos");
+        this.agrupados = meterRegistry.counter("sync.eventos.agrupados");
+        this.reintentos = meterRegistry.counter("sync.eventos.reintentos");
+        this.duracionCompleta = meterRegistry.timer("sync.eventos.duracion", "tipo", "completa");
+        this.duracionIncremental = meterRegistry.timer("sync.eventos.duracion", "tipo", "incremental");
+    }
+
+    /**
+     * Registra una notificación de cambio.
+     *
+     * @param ids eventos afectados; null o vacío para sincronizar todo
+     * @return true si se sumó a una sincronización ya pendiente
+     */
+    public boolean solicitar(Collection<Long> ids) {
+        disparos.increment();
+
+        boolean agrupada;
+        lock.lock();
+        try {
+            if (ids == null || ids.isEmpty()) {
+                completa = true;
+                eventosIds.clear();
+            } else if (!completa) {
+                eventosIds.addAll(ids);
+            }
+
+            agrupada = pendiente;
+            if (!pendiente) {
+                pendiente = true;
+                ejecutor.schedule(this::ejecutar, ventanaMs, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (agrupada) {
+            agrupados.increment();
+            log.debug("Notificacion agrupada con la sincronizacion pendiente");
+        } else {
+            log.debug("Sincronizacion programada en {} ms", ventanaMs);
+        }
+        return agrupada;
+    }
+
+    public double getNotificacionesAgrupadas() {
+        return agrupados.count();
+    }
+
+    private void ejecutar() {
+        // Las notificaciones que lleguen desde ahora programan la siguiente
+        boolean sincronizarTodo;
+        Set<Long> ids;
+        lock.lock();
+        try {
+            sincronizarTodo = completa;
+            ids = eventosIds;
+            pendiente = false;
+            completa = false;
+            eventosIds = new LinkedHashSet<>();
+        } finally {
+            lock.unlock();
+        }
+
+        try {
+            if (sincronizarTodo) {
+                duracionCompleta.record(() -> gestionEventosUseCase.sincronizarEventos());
+                log.info("✅ Sincronización completada exitosamente");
+            } else {
+                duracionIncremental.record(() -> gestionEventosUseCase.sincronizarEventos(ids));
+                log.info("✅ Sincronización de {} evento(s) completada exitosamente", ids.size());
+            }
+            lock.lock();
+            try {
+                fallosSeguidos = 0;
+            } finally {
+                lock.unlock();
+            }
+        } catch (Exception e) {
+            long espera = reprogramar(sincronizarTodo, ids);
+            log.error("❌ Error durante la sincronización: {}. Se reintenta en {} ms", e.getMessage(), espera);
+        }
+    }
+
+    /**
+     * Devuelve lo que no se pudo sincronizar a la sincronización pendiente y la
+     * programa con espera exponencial. Si ya hay una pendiente (llegó otra
+     * notificación mientras tanto), se suma a ella.
+     *
+     * @return la espera hasta el reintento
+     */
+    private long reprogramar(boolean sincronizarTodo, Set<Long> ids) {
+        reintentos.increment();
+        lock.lock();
+        try {
+            if (sincronizarTodo) {
+                completa = true;
+                eventosIds.clear();
+            } else if (!completa) {
+                eventosIds.addAll(ids);
+            }
+
+            fallosSeguidos++;
+            long espera = Math.min(reintentoMaxMs, ventanaMs << Math.min(fallosSeguidos, 20));
+            if (!pendiente) {
+                pendiente = true;
+                ejecutor.schedule(this::ejecutar, espera, TimeUnit.MILLISECONDS);
+            }
+            return espera;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdownNow();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.abel.eventos.domain.exception;
+
+/**
+ * La sesión cambió mientras se procesaba la operación (otro request la
+ * modificó antes) o el paso pedido no corresponde a su estado actual.
+ */
+public class ConflictoSesionException extends RuntimeException {
+
+    public ConflictoSesionException(String mensaje) {
+        super(mensaje);
+    }
+
+    public ConflictoSesionException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.abel.eventos.domain.exception;
+
+/**
+ * Se lanza cuando un recurso acotado está saturado y la operación se rechaza
+ * de inmediato en lugar de encolarla. El cliente puede reintentar más tarde.
+ */
+public class ServicioSaturadoException extends RuntimeException {
+
+    public ServicioSaturadoException(String mensaje) {
+        super(mensaje);
+    }
+
+    public ServicioSaturadoException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
\ No newline at end of file
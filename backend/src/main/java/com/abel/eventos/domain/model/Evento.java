@@ -25,4 +25,6 @@ public class Evento {
     private BigDecimal precioEntrada;
     private EventoTipo eventoTipo;
     private List<Integrante> integrantes;
+    // Última modificación en el espejo local; null si el evento no está en él
+    private Instant ultimaActualizacion;
 }
\ No newline at end of file
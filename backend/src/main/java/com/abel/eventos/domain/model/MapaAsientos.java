@@ -0,0 +1,137 @@
+package com.abel.eventos.domain.model;
+
+import java.util.List;
+
+/**
+ * Mapa de asientos de un evento guardado como un bitmap por estado.
+ * <p>
+ * Cada asiento (fila, columna) ocupa un bit en la posición
+ * {@code (fila - 1) * columnas + (columna - 1)}. Un asiento que no está
+ * marcado en ningún bitmap está LIBRE.
+ */
+public class MapaAsientos {
+
+    private static final AsientoEstado[] ESTADOS = AsientoEstado.values();
+
+    private final int filas;
+    private final int columnas;
+    private final long[][] bits;
+
+    public MapaAsientos(int filas, int columnas) {
+        if (filas < 0 || columnas < 0) {
+            throw new IllegalArgumentException("Dimensiones invalidas: " + filas + "x" + columnas);
+        }
+        this.filas = filas;
+        this.columnas = columnas;
+
+        int palabras = (int) (((long) filas * columnas + 63) >>> 6);
+        this.bits = new long[ESTADOS.length][];
+        for (AsientoEstado estado : ESTADOS) {
+            if (estado != AsientoEstado.LIBRE) {
+                bits[estado.ordinal()] = new long[palabras];
+            }
+        }
+    }
+
+    /**
+     * Construye el mapa en una sola pasada sobre los asientos ocupados/bloqueados.
+     * Los asientos fuera de las dimensiones del evento se ignoran.
+     */
+    public static MapaAsientos desde(int filas, int columnas, List<Asiento> ocupados) {
+        MapaAsientos mapa = new MapaAsientos(filas, columnas);
+        for (Asiento asiento : ocupados) {
+            if (asiento.getFila() != null && asiento.getColumna() != null && asiento.getEstado() != null) {
+                mapa.marcar(asiento.getFila(), asiento.getColumna(), asiento.getEstado());
+            }
+        }
+        return mapa;
+    }
+
+    public int getFilas() {
+        return filas;
+    }
+
+    public int getColumnas() {
+        return columnas;
+    }
+
+    public int getTotalAsientos() {
+        return filas * columnas;
+    }
+
+    public boolean contiene(int fila, int columna) {
+        return fila >= 1 && fila <= filas && columna >= 1 && columna <= columnas;
+    }
+
+    /**
+     * Marca el asiento con el estado indicado. Devuelve false si está fuera de rango.
+     */
+    public boolean marcar(int fila, int columna, AsientoEstado estado) {
+        if (!contiene(fila, columna)) {
+            return false;
+        }
+
+        int indice = indice(fila, columna);
+        int palabra = indice >>> 6;
+        long mascara = 1L << indice;
+
+        for (AsientoEstado e : ESTADOS) {
+            long[] bitmap = bits[e.ordinal()];
+            if (bitmap == null) {
+                continue;
+            }
+            if (e == estado) {
+                bitmap[palabra] |= mascara;
+            } else {
+                bitmap[palabra] &= ~mascara;
+            }
+        }
+        return true;
+    }
+
+    public AsientoEstado estado(int fila, int columna) {
+        if (!contiene(fila, columna)) {
+            throw new IndexOutOfBoundsException(
+                    String.format("Asiento fila %d, columna %d fuera del mapa %dx%d", fila, columna, filas, columnas));
+        }
+        return estadoEnIndice(indice(fila, columna));
+    }
+
+    public boolean estaLibre(int fila, int columna) {
+        return estado(fila, columna) == AsientoEstado.LIBRE;
+    }
+
+    /**
+     * Recorre todos los asientos por fila y columna sin crear objetos intermedios.
+     */
+    public void recorrer(VisitanteAsiento visitante) {
+        int indice = 0;
+        for (int fila = 1; fila <= filas; fila++) {
+            for (int columna = 1; columna <= columnas; columna++) {
+                visitante.visitar(fila, columna, estadoEnIndice(indice++));
+            }
+        }
+    }
+
+    private AsientoEstado estadoEnIndice(int indice) {
+        int palabra = indice >>> 6;
+        long mascara = 1L << indice;
+
+        for (AsientoEstado e : ESTADOS) {
+            long[] bitmap = bits[e.ordinal()];
+            if (bitmap != null && (bitmap[palabra] & mascara) != 0) {
+                return e;
+            }
+        }
+        return AsientoEstado.LIBRE;
+    }
+
+    private int indice(int fila, int columna) {
+        return (fila - 1) * columnas + (columna - 1);
+    }
+
+    @FunctionalInterface
+    public interface VisitanteAsiento {
+        void visitar(int fila, int columna, AsientoEstado estado);
+    }
+}
\ No newline at end of file
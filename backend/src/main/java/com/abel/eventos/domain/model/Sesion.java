@@ -1,5 +1,6 @@
 package com.abel.eventos.domain.model;
 
+import com.abel.eventos.domain.exception.ConflictoSesionException;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -19,4 +20,23 @@ public class Sesion {
     private List<Asiento> asientosSeleccionados;
     private Instant creadoEn;
     private Instant ultimaActividad;
+
+    // Versión para detectar escrituras concurrentes; null hasta que se guarda por primera vez
+    private Long version;
+
+    // Dimensiones y precio del evento tomados al iniciar la sesión
+    private SnapshotEvento snapshotEvento;
+
+    /**
+     * Pasa la sesión al estado indicado si la transición es válida.
+     *
+     * @throws ConflictoSesionException si desde el estado actual no se puede pasar a ese
+     */
+    public void cambiarEstado(SesionEstado nuevoEstado) {
+        if (estado != null && !estado.puedePasarA(nuevoEstado)) {
+            throw new ConflictoSesionException(
+                    String.format("No se puede pasar de %s a %s", estado, nuevoEstado));
+        }
+        this.estado = nuevoEstado;
+    }
 }
\ No newline at end of file
@@ -1,9 +1,59 @@
 package com.abel.eventos.domain.model;
 
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum SesionEstado {
     LISTANDO_EVENTOS,
     EVENTO_SELECCIONADO,
     ASIENTOS_SELECCIONADOS,
+    BLOQUEANDO_ASIENTOS,
     CARGANDO_DATOS,
-    CONFIRMANDO_VENTA
+    CONFIRMANDO_VENTA,
+    PROCESANDO_VENTA;
+
+    /**
+     * Estados a los que se puede pasar desde este. Volver a seleccionar asientos
+     * o a asignar personas en el mismo paso está permitido, también después del
+     * bloqueo (los asientos nuevos se bloquean de nuevo); saltar o repetir el
+     * bloqueo no.
+     * <p>
+     * BLOQUEANDO_ASIENTOS y PROCESANDO_VENTA marcan una llamada a Cátedra en
+     * curso: se guardan antes de llamar, así una segunda petición concurrente
+     * choca con la versión de la sesión, y vuelven al estado anterior si Cátedra falla.
+     */
+    public Set<SesionEstado> siguientes() {
+        return switch (this) {
+            case LISTANDO_EVENTOS -> EnumSet.of(EVENTO_SELECCIONADO);
+            case EVENTO_SELECCIONADO -> EnumSet.of(ASIENTOS_SELECCIONADOS);
+            case ASIENTOS_SELECCIONADOS -> EnumSet.of(ASIENTOS_SELECCIONADOS, BLOQUEANDO_ASIENTOS);
+            case BLOQUEANDO_ASIENTOS -> EnumSet.of(CARGANDO_DATOS, ASIENTOS_SELECCIONADOS);
+            case CARGANDO_DATOS -> EnumSet.of(CONFIRMANDO_VENTA, ASIENTOS_SELECCIONADOS);
+            case CONFIRMANDO_VENTA -> EnumSet.of(CONFIRMANDO_VENTA, PROCESANDO_VENTA, ASIENTOS_SELECCIONADOS);
+            case PROCESANDO_VENTA -> EnumSet.of(CONFIRMANDO_VENTA);
+        };
+    }
+
+    public boolean puedePasarA(SesionEstado destino) {
+        return siguientes().contains(destino);
+    }
+
+    /**
+     * Hay una llamada a Cátedra en curso para la sesión.
+     */
+    public boolean enCurso() {
+        return this == BLOQUEANDO_ASIENTOS || this == PROCESANDO_VENTA;
+    }
+
+    /**
+     * Estado desde el que se retoma una llamada en curso cuyo reclamo venció
+     * (la instancia que la hacía cayó sin revertirla).
+     */
+    public SesionEstado alVencerReclamo() {
+        return switch (this) {
+            case BLOQUEANDO_ASIENTOS -> ASIENTOS_SELECCIONADOS;
+            case PROCESANDO_VENTA -> CONFIRMANDO_VENTA;
+            default -> this;
+        };
+    }
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.abel.eventos.domain.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Datos del evento que la sesión de compra necesita (dimensiones y precio),
+ * tomados al iniciarla. versionEvento es la última modificación del evento en
+ * el espejo local: si el evento cambió (o se eliminó) desde entonces, el
+ * snapshot se vuelve a tomar.
+ */
+public record SnapshotEvento(
+        Long eventoId,
+        int filas,
+        int columnas,
+        BigDecimal precioEntrada,
+        long versionEvento
+) {
+
+    public static SnapshotEvento de(Evento evento) {
+        return new SnapshotEvento(
+                evento.getId(),
+                evento.getFilaAsientos(),
+                evento.getColumnaAsientos(),
+                evento.getPrecioEntrada(),
+                versionDe(evento)
+        );
+    }
+
+    /**
+     * En microsegundos, o 0 si el evento no está en el espejo local.
+     */
+    public static long versionDe(Evento evento) {
+        Instant ultimaActualizacion = evento.getUltimaActualizacion();
+        return ultimaActualizacion != null ? ChronoUnit.MICROS.between(Instant.EPOCH, ultimaActualizacion) : 0L;
+    }
+}
\ No newline at end of file
@@ -2,13 +2,13 @@ package com.abel.eventos.infrastructure.adapter.in.web;
 
 import com.abel.eventos.application.port.in.AutenticacionUseCase;
 import com.abel.eventos.application.port.out.UsuarioRepositoryPort;
+import com.abel.eventos.domain.exception.ServicioSaturadoException;
 import com.abel.eventos.domain.model.Usuario;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.LoginRequest;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.LoginResponse;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.RegistroRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -21,7 +21,6 @@ public class AuthController {
 
     private final AutenticacionUseCase autenticacionUseCase;
     private final UsuarioRepositoryPort usuarioRepositoryPort;
-    private final PasswordEncoder passwordEncoder;
 
     @PostMapping("/login")
     public ResponseEntity<LoginResponse> login(@RequestBody LoginRequest request) {
@@ -35,6 +34,12 @@ public class AuthController {
             );
 
             return ResponseEntity.ok(response);
+        } catch (ServicioSaturadoException e) {
+            return ResponseEntity.status(503).body(new LoginResponse(
+                    "",
+                    request.getUsername(),
+                    e.getMessage()
+            ));
         } catch (Exception e) {
             LoginResponse response = new LoginResponse(
                     "",
@@ -67,15 +72,22 @@ public class AuthController {
         // Crear nuevo usuario
         Usuario nuevoUsuario = new Usuario();
         nuevoUsuario.setUsername(request.getUsername());
-        nuevoUsuario.setPassword(passwordEncoder.encode(request.getPassword()));
+        nuevoUsuario.setPassword(request.getPassword());
         nuevoUsuario.setNombre(request.getNombre());
         nuevoUsuario.setApellido(request.getApellido());
         nuevoUsuario.setEmail(request.getEmail());
 
-        usuarioRepositoryPort.guardar(nuevoUsuario);
-
-        // Hacer login automático
-        String token = autenticacionUseCase.login(request.getUsername(), request.getPassword());
+        // Guardar y emitir el token directamente (sin un segundo BCrypt para el login)
+        String token;
+        try {
+            token = autenticacionUseCase.registrar(nuevoUsuario);
+        } catch (ServicioSaturadoException e) {
+            return ResponseEntity.status(503).body(new LoginResponse(
+                    "",
+                    request.getUsername(),
+                    e.getMessage()
+            ));
+        }
 
         return ResponseEntity.ok(new LoginResponse(
                 token,
@@ -1,8 +1,8 @@
 package com.abel.eventos.infrastructure.adapter.in.web;
 
 import com.abel.eventos.application.port.in.GestionEventosUseCase;
-import com.abel.eventos.domain.model.Asiento;
 import com.abel.eventos.domain.model.Evento;
+import com.abel.eventos.domain.model.MapaAsientos;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.AsientoResponse;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.EventoDetalleResponse;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.EventoResumenResponse;
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.ArrayList;
 import java.util.List;
 
 @RestController
@@ -47,11 +48,11 @@ public class EventoController {
     @GetMapping("/{id}/asientos")
     public ResponseEntity<List<AsientoResponse>> obtenerAsientos(@PathVariable Long id) {
         try {
-            List<Asiento> asientos = gestionEventosUseCase.obtenerAsientosEvento(id);
+            MapaAsientos mapa = gestionEventosUseCase.obtenerAsientosEvento(id);
 
-            List<AsientoResponse> response = asientos.stream()
-                    .map(this::toAsientoResponse)
-                    .toList();
+            List<AsientoResponse> response = new ArrayList<>(mapa.getTotalAsientos());
+            mapa.recorrer((fila, columna, estado) ->
+                    response.add(new AsientoResponse(fila, columna, estado.name(), null)));
 
             return ResponseEntity.ok(response);
         } catch (RuntimeException e) {
@@ -100,13 +101,4 @@ public class EventoController {
                 integrantes
         );
     }
-
-    private AsientoResponse toAsientoResponse(Asiento asiento) {
-        return new AsientoResponse(
-                asiento.getFila(),
-                asiento.getColumna(),
-                asiento.getEstado() != null ? asiento.getEstado().name() : "LIBRE",
-                asiento.getPersona()
-        );
-    }
 }
\ No newline at end of file
@@ -1,11 +1,13 @@
 package com.abel.eventos.infrastructure.adapter.in.web;
 
-import com.abel.eventos.application.port.in.GestionEventosUseCase;
+import com.abel.eventos.application.service.SincronizacionProgramadaService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -14,14 +16,15 @@ import java.util.Map;
 @Slf4j
 public class InternalController {
 
-    private final GestionEventosUseCase gestionEventosUseCase;
+    private final SincronizacionProgramadaService sincronizacionProgramadaService;
 
     /**
      * Endpoint para recibir notificaciones del Proxy.
      * Cuando hay cambios en eventos (via Kafka), el Proxy llama aquí.
+     * La sincronización se programa y se agrupa con otras notificaciones cercanas.
      */
     @PostMapping("/sync")
-    public ResponseEntity<Map<String, String>> sincronizar(@RequestBody Map<String, Object> notificacion) {
+    public ResponseEntity<Map<String, Object>> sincronizar(@RequestBody Map<String, Object> notificacion) {
 
         log.info("=========================================================");
         log.info("* NOTIFICACIÓN RECIBIDA DEL PROXY *                      ");
@@ -30,24 +33,31 @@ public class InternalController {
         log.info("Mensaje: {}", notificacion.get("mensaje"));
         log.info("Timestamp: {}", notificacion.get("timestamp"));
 
-        try {
-            // Sincronizar eventos desde la API de Cátedra
-            gestionEventosUseCase.sincronizarEventos();
+        // Sin eventos identificados se sincroniza el catálogo completo
+        List<Long> eventosIds = extraerEventosIds(notificacion.get("eventosIds"));
+        log.info("Eventos: {}", eventosIds.isEmpty() ? "todos" : eventosIds);
 
-            log.info("✅ Sincronización completada exitosamente");
+        boolean agrupada = sincronizacionProgramadaService.solicitar(eventosIds);
 
-            return ResponseEntity.ok(Map.of(
-                    "status", "sincronizado",
-                    "mensaje", "Eventos actualizados correctamente"
-            ));
-
-        } catch (Exception e) {
-            log.error("❌ Error durante la sincronización: {}", e.getMessage());
+        return ResponseEntity.accepted().body(Map.of(
+                "status", "programado",
+                "mensaje", agrupada
+                        ? "Notificacion agrupada con una sincronizacion pendiente"
+                        : "Sincronizacion programada",
+                "agrupada", agrupada,
+                "notificacionesAgrupadas", (long) sincronizacionProgramadaService.getNotificacionesAgrupadas()
+        ));
+    }
 
-            return ResponseEntity.internalServerError().body(Map.of(
-                    "status", "error",
-                    "mensaje", "Error al sincronizar: " + e.getMessage()
-            ));
+    private List<Long> extraerEventosIds(Object valor) {
+        List<Long> ids = new ArrayList<>();
+        if (valor instanceof List<?> lista) {
+            for (Object elemento : lista) {
+                if (elemento instanceof Number numero) {
+                    ids.add(numero.longValue());
+                }
+            }
         }
+        return ids;
     }
 }
\ No newline at end of file
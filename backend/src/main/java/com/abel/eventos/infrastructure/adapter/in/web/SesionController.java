@@ -1,19 +1,17 @@
 package com.abel.eventos.infrastructure.adapter.in.web;
 
 import com.abel.eventos.application.port.in.GestionSesionUseCase;
-import com.abel.eventos.application.port.out.UsuarioRepositoryPort;
 import com.abel.eventos.domain.model.Sesion;
-import com.abel.eventos.domain.model.Usuario;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.AsientoResponse;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.IniciarSesionRequest;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.SesionResponse;
-import com.abel.eventos.infrastructure.config.JwtService;
+import com.abel.eventos.infrastructure.config.UsuarioAutenticado;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -26,14 +24,12 @@ import java.util.List;
 public class SesionController {
 
     private final GestionSesionUseCase gestionSesionUseCase;
-    private final UsuarioRepositoryPort usuarioRepositoryPort;
-    private final JwtService jwtService;
 
     @GetMapping
     public ResponseEntity<SesionResponse> obtenerSesionActual(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal UsuarioAutenticado usuario) {
 
-        Long usuarioId = extraerUsuarioId(authHeader);
+        Long usuarioId = usuario.getId();
         Sesion sesion = gestionSesionUseCase.obtenerSesionActual(usuarioId);
 
         if (sesion == null) {
@@ -51,10 +47,10 @@ public class SesionController {
 
     @PostMapping("/iniciar")
     public ResponseEntity<SesionResponse> iniciarSesion(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticationPrincipal UsuarioAutenticado usuario,
             @RequestBody IniciarSesionRequest request) {
 
-        Long usuarioId = extraerUsuarioId(authHeader);
+        Long usuarioId = usuario.getId();
 
         try {
             Sesion sesion = gestionSesionUseCase.iniciarSesionCompra(usuarioId, request.getEventoId());
@@ -72,9 +68,9 @@ public class SesionController {
 
     @PostMapping("/finalizar")
     public ResponseEntity<SesionResponse> finalizarSesion(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal UsuarioAutenticado usuario) {
 
-        Long usuarioId = extraerUsuarioId(authHeader);
+        Long usuarioId = usuario.getId();
         gestionSesionUseCase.finalizarSesion(usuarioId);
 
         return ResponseEntity.ok(new SesionResponse(
@@ -88,15 +84,6 @@ public class SesionController {
 
     // === Métodos auxiliares ===
 
-    private Long extraerUsuarioId(String authHeader) {
-        String token = authHeader.replace("Bearer ", "");
-        String username = jwtService.extraerUsername(token);
-
-        return usuarioRepositoryPort.buscarPorUsername(username)
-                .map(Usuario::getId)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + username));
-    }
-
     private SesionResponse toSesionResponse(Sesion sesion, String mensaje) {
         List<AsientoResponse> asientos = new ArrayList<>();
 
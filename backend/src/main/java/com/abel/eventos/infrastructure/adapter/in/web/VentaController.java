@@ -1,22 +1,22 @@
 package com.abel.eventos.infrastructure.adapter.in.web;
 
 import com.abel.eventos.application.port.in.RealizarVentaUseCase;
-import com.abel.eventos.application.port.out.UsuarioRepositoryPort;
+import com.abel.eventos.domain.exception.ConflictoSesionException;
 import com.abel.eventos.domain.model.Asiento;
-import com.abel.eventos.domain.model.Usuario;
 import com.abel.eventos.domain.model.Venta;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.AsientoRequest;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.AsientoResponse;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.AsignarPersonasRequest;
+import com.abel.eventos.infrastructure.adapter.in.web.dto.CompraExpressRequest;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.MensajeResponse;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.SeleccionarAsientosRequest;
 import com.abel.eventos.infrastructure.adapter.in.web.dto.VentaResponse;
-import com.abel.eventos.infrastructure.config.JwtService;
+import com.abel.eventos.infrastructure.config.UsuarioAutenticado;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
-import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -29,15 +29,13 @@ import java.util.List;
 public class VentaController {
 
     private final RealizarVentaUseCase realizarVentaUseCase;
-    private final UsuarioRepositoryPort usuarioRepositoryPort;
-    private final JwtService jwtService;
 
     @PostMapping("/seleccionar")
     public ResponseEntity<MensajeResponse> seleccionarAsientos(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticationPrincipal UsuarioAutenticado usuario,
             @RequestBody SeleccionarAsientosRequest request) {
 
-        Long usuarioId = extraerUsuarioId(authHeader);
+        Long usuarioId = usuario.getId();
 
         List<Asiento> asientos = request.getAsientos().stream()
                 .map(this::toAsientoDomain)
@@ -55,6 +53,8 @@ public class VentaController {
             } else {
                 return ResponseEntity.badRequest().body(new MensajeResponse(false, "Algunos asientos no estan disponibles"));
             }
+        } catch (ConflictoSesionException e) {
+            return ResponseEntity.status(409).body(new MensajeResponse(false, e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new MensajeResponse(false, e.getMessage()));
         }
@@ -62,9 +62,9 @@ public class VentaController {
 
     @PostMapping("/bloquear")
     public ResponseEntity<MensajeResponse> bloquearAsientos(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal UsuarioAutenticado usuario) {
 
-        Long usuarioId = extraerUsuarioId(authHeader);
+        Long usuarioId = usuario.getId();
 
         try {
             boolean resultado = realizarVentaUseCase.bloquearAsientos(usuarioId);
@@ -74,6 +74,8 @@ public class VentaController {
             } else {
                 return ResponseEntity.badRequest().body(new MensajeResponse(false, "No se pudieron bloquear los asientos"));
             }
+        } catch (ConflictoSesionException e) {
+            return ResponseEntity.status(409).body(new MensajeResponse(false, e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new MensajeResponse(false, e.getMessage()));
         }
@@ -81,10 +83,10 @@ public class VentaController {
 
     @PostMapping("/asignar-personas")
     public ResponseEntity<MensajeResponse> asignarPersonas(
-            @RequestHeader("Authorization") String authHeader,
+            @AuthenticationPrincipal UsuarioAutenticado usuario,
             @RequestBody AsignarPersonasRequest request) {
 
-        Long usuarioId = extraerUsuarioId(authHeader);
+        Long usuarioId = usuario.getId();
 
         List<Asiento> asientos = request.getAsientos().stream()
                 .map(this::toAsientoDomain)
@@ -98,6 +100,8 @@ public class VentaController {
             } else {
                 return ResponseEntity.badRequest().body(new MensajeResponse(false, "Error al asignar personas"));
             }
+        } catch (ConflictoSesionException e) {
+            return ResponseEntity.status(409).body(new MensajeResponse(false, e.getMessage()));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(new MensajeResponse(false, e.getMessage()));
         }
@@ -105,32 +109,50 @@ public class VentaController {
 
     @PostMapping("/confirmar")
     public ResponseEntity<VentaResponse> confirmarVenta(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal UsuarioAutenticado usuario) {
 
-        Long usuarioId = extraerUsuarioId(authHeader);
+        Long usuarioId = usuario.getId();
 
         try {
             Venta venta = realizarVentaUseCase.confirmarVenta(usuarioId);
             return ResponseEntity.ok(toVentaResponse(venta));
+        } catch (ConflictoSesionException e) {
+            return ResponseEntity.status(409).body(ventaConError(null, e.getMessage()));
         } catch (RuntimeException e) {
-            VentaResponse errorResponse = new VentaResponse(
-                    null,
-                    null,
-                    null,
-                    null,
-                    false,
-                    e.getMessage(),
-                    new ArrayList<>()
-            );
-            return ResponseEntity.badRequest().body(errorResponse);
+            return ResponseEntity.badRequest().body(ventaConError(null, e.getMessage()));
+        }
+    }
+
+    /**
+     * Compra en un solo request: evento, asientos y personas.
+     * Reemplaza la secuencia seleccionar -> bloquear -> asignar-personas -> confirmar.
+     */
+    @PostMapping("/express")
+    public ResponseEntity<VentaResponse> compraExpress(
+            @AuthenticationPrincipal UsuarioAutenticado usuario,
+            @RequestBody CompraExpressRequest request) {
+
+        Long usuarioId = usuario.getId();
+
+        try {
+            List<Asiento> asientos = request.getAsientos() == null ? List.of() : request.getAsientos().stream()
+                    .map(this::toAsientoDomain)
+                    .toList();
+
+            Venta venta = realizarVentaUseCase.compraExpress(usuarioId, request.getEventoId(), asientos);
+            return ResponseEntity.ok(toVentaResponse(venta));
+        } catch (ConflictoSesionException e) {
+            return ResponseEntity.status(409).body(ventaConError(request.getEventoId(), e.getMessage()));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(ventaConError(request.getEventoId(), e.getMessage()));
         }
     }
 
     @PostMapping("/cancelar")
     public ResponseEntity<MensajeResponse> cancelarProceso(
-            @RequestHeader("Authorization") String authHeader) {
+            @AuthenticationPrincipal UsuarioAutenticado usuario) {
 
-        Long usuarioId = extraerUsuarioId(authHeader);
+        Long usuarioId = usuario.getId();
 
         try {
             realizarVentaUseCase.cancelarProceso(usuarioId);
@@ -142,15 +164,6 @@ public class VentaController {
 
     // === Métodos auxiliares ===
 
-    private Long extraerUsuarioId(String authHeader) {
-        String token = authHeader.replace("Bearer ", "");
-        String username = jwtService.extraerUsername(token);
-
-        return usuarioRepositoryPort.buscarPorUsername(username)
-                .map(Usuario::getId)
-                .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + username));
-    }
-
     private Asiento toAsientoDomain(AsientoRequest request) {
         Asiento asiento = new Asiento();
         asiento.setFila(request.getFila());
@@ -159,6 +172,18 @@ public class VentaController {
         return asiento;
     }
 
+    private VentaResponse ventaConError(Long eventoId, String mensaje) {
+        return new VentaResponse(
+                null,
+                eventoId,
+                null,
+                null,
+                false,
+                mensaje,
+                new ArrayList<>()
+        );
+    }
+
     private VentaResponse toVentaResponse(Venta venta) {
         List<AsientoResponse> asientos = new ArrayList<>();
 
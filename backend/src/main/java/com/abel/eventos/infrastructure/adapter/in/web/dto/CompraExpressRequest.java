@@ -0,0 +1,16 @@
+package com.abel.eventos.infrastructure.adapter.in.web.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompraExpressRequest {
+
+    private Long eventoId;
+    private List<AsientoRequest> asientos;  // con la persona de cada asiento
+}
\ No newline at end of file
@@ -0,0 +1,333 @@
+package com.abel.eventos.infrastructure.adapter.out.catedra;
+
+import com.abel.eventos.application.port.out.CatedraServicePort;
+import com.abel.eventos.application.port.out.EventoRepositoryPort;
+import com.abel.eventos.domain.exception.ServicioSaturadoException;
+import com.abel.eventos.domain.model.Asiento;
+import com.abel.eventos.domain.model.Evento;
+import com.abel.eventos.domain.model.Venta;
+import com.abel.eventos.infrastructure.adapter.out.catedra.LimitadorConcurrencia.Prioridad;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Capa de resiliencia sobre {@link CatedraServiceAdapter}.
+ * <p>
+ * Cada operación tiene su propio circuit breaker, y las llamadas van por dos
+ * bulkheads separados: consultas (eventos y ventas) y operaciones de venta
+ * (bloqueo y venta). Si Cátedra se degrada, como mucho esa cantidad de hilos
+ * queda esperando y el resto se rechaza al instante.
+ * <p>
+ * Con el circuito abierto o el bulkhead lleno, los eventos se leen del espejo
+ * local y las operaciones de venta devuelven un resultado fallido.
+ * <p>
+ * Las lecturas concurrentes del mismo evento se agrupan antes de entrar a esta
+ * capa ({@link SolicitudesEnCurso}): un pico sobre un evento ocupa un solo
+ * permiso, no uno por cada llamador que espera la misma respuesta.
+ * <p>
+ * Dentro del circuit breaker, un {@link LimitadorConcurrencia} ajusta cuántas
+ * llamadas pueden estar en curso según el RTT observado de cada operación
+ * (el nombre de su circuit breaker), dando prioridad a
+ * bloqueos y ventas sobre las lecturas del catálogo.
+ * La configuración está en {@code catedra.resiliencia.*} y {@code catedra.concurrencia.*};
+ * las métricas se publican como {@code resilience4j.circuitbreaker.*},
+ * {@code resilience4j.bulkhead.*} y {@code catedra.concurrencia.*}.
+ */
+@Slf4j
+@Primary
+@Component
+public class CatedraResilienteAdapter implements CatedraServicePort {
+
+    private final CatedraServiceAdapter catedra;
+    private final EventoRepositoryPort eventoRepositoryPort;
+
+    private final CircuitBreaker eventosResumidos;
+    private final CircuitBreaker eventosCompletos;
+    private final CircuitBreaker catalogo;
+    private final CircuitBreaker evento;
+    private final CircuitBreaker bloqueo;
+    private final CircuitBreaker venta;
+    private final CircuitBreaker ventas;
+    private final CircuitBreaker ventaDetalle;
+
+    private final Bulkhead consultas;
+    private final Bulkhead operaciones;
+
+    private final LimitadorConcurrencia limitador;
+    private final Executor ejecutorAlternativas;
+
+    // Lecturas concurrentes del mismo evento comparten una única llamada, con un
+    // solo permiso del bulkhead y del limitador para todas
+    private final SolicitudesEnCurso<Long, Evento> eventosEnCurso;
+    private final SolicitudesEnCurso<Long, Evento> eventosDeCatedraEnCurso;
+    private final Counter coalescidas;
+
+    public CatedraResilienteAdapter(CatedraServiceAdapter catedra,
+                                    EventoRepositoryPort eventoRepositoryPort,
+                                    @Qualifier("applicationTaskExecutor") Executor ejecutorAlternativas,
+                                    Environment env,
+                                    MeterRegistry meterRegistry) {
+        this.catedra = catedra;
+        this.eventoRepositoryPort = eventoRepositoryPort;
+        this.ejecutorAlternativas = ejecutorAlternativas;
+
+        String prefijo = "catedra.resiliencia.";
+        CircuitBreakerConfig circuitBreakerConfig = CircuitBreakerConfig.custom()
+                .slidingWindowSize(env.getProperty(prefijo + "ventana", Integer.class, 20))
+                .minimumNumberOfCalls(env.getProperty(prefijo + "minimo-llamadas", Integer.class, 10))
+                .failureRateThreshold(env.getProperty(prefijo + "umbral-fallas", Float.class, 50f))
+                .slowCallDurationThreshold(Duration.ofMillis(
+                        env.getProperty(prefijo + "llamada-lenta-ms", Long.class, 5000L)))
+                .slowCallRateThreshold(env.getProperty(prefijo + "umbral-lentas", Float.class, 80f))
+                .waitDurationInOpenState(Duration.ofMillis(
+                        env.getProperty(prefijo + "espera-abierto-ms", Long.class, 30000L)))
+                .permittedNumberOfCallsInHalfOpenState(3)
+                // Solo cuentan las fallas de Cátedra: los rechazos del limitador o un
+                // error de la BD local (el catálogo se guarda mientras se lee) no
+                .recordException(CatedraResilienteAdapter::esFallaDeCatedra)
+                .ignoreException(e -> !esFallaDeCatedra(e))
+                .build();
+        CircuitBreakerRegistry circuitBreakers = CircuitBreakerRegistry.of(circuitBreakerConfig);
+
+        // El catálogo en streaming dura lo que tarden la descarga y el guardado de
+        // todos los lotes: la llamada lenta se mide con un umbral propio
+        CircuitBreakerConfig catalogoConfig = CircuitBreakerConfig.from(circuitBreakerConfig)
+                .slowCallDurationThreshold(Duration.ofMillis(
+                        env.getProperty(prefijo + "catalogo-lento-ms", Long.class, 600000L)))
+                .build();
+
+        this.eventosResumidos = circuitBreakers.circuitBreaker("catedra-eventos-resumidos");
+        this.eventosCompletos = circuitBreakers.circuitBreaker("catedra-eventos-completos");
+        this.catalogo = circuitBreakers.circuitBreaker("catedra-catalogo", catalogoConfig);
+        this.evento = circuitBreakers.circuitBreaker("catedra-evento");
+        this.bloqueo = circuitBreakers.circuitBreaker("catedra-bloqueo");
+        this.venta = circuitBreakers.circuitBreaker("catedra-venta");
+        this.ventas = circuitBreakers.circuitBreaker("catedra-ventas");
+        this.ventaDetalle = circuitBreakers.circuitBreaker("catedra-venta-detalle");
+
+        Duration esperaBulkhead = Duration.ofMillis(
+                env.getProperty(prefijo + "espera-bulkhead-ms", Long.class, 100L));
+        BulkheadRegistry bulkheads = BulkheadRegistry.ofDefaults();
+        this.consultas = bulkheads.bulkhead("catedra-consultas", BulkheadConfig.custom()
+                .maxConcurrentCalls(env.getProperty(prefijo + "consultas.max-concurrentes", Integer.class, 20))
+                .maxWaitDuration(esperaBulkhead)
+                .build());
+        this.operaciones = bulkheads.bulkhead("catedra-operaciones", BulkheadConfig.custom()
+                .maxConcurrentCalls(env.getProperty(prefijo + "operaciones.max-concurrentes", Integer.class, 10))
+                .maxWaitDuration(esperaBulkhead)
+                .build());
+
+        this.limitador = new LimitadorConcurrencia(
+                env.getProperty("catedra.concurrencia.inicial", Integer.class, 20),
+                env.getProperty("catedra.concurrencia.minimo", Integer.class, 2),
+                env.getProperty("catedra.concurrencia.maximo", Integer.class, 200),
+                env.getProperty("catedra.concurrencia.tolerancia-rtt", Double.class, 2.0),
+                env.getProperty("catedra.concurrencia.factor-baja", Double.class, 0.9),
+                env.getProperty("catedra.concurrencia.fraccion-lecturas", Double.class, 0.7),
+                meterRegistry);
+
+        this.eventosEnCurso = new SolicitudesEnCurso<>(this::registrarCoalescida);
+        this.eventosDeCatedraEnCurso = new SolicitudesEnCurso<>(this::registrarCoalescida);
+        // Etiquetado por operación y no por evento: un tag por ID crece sin límite
+        this.coalescidas = meterRegistry.counter("catedra.eventos.coalescidas", "operacion", "evento-por-id");
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(meterRegistry);
+    }
+
+    @Override
+    public List<Evento> obtenerEventosResumidos() {
+        return ejecutar(consultas, eventosResumidos, Prioridad.LECTURA,
+                catedra::obtenerEventosResumidos, e -> eventoRepositoryPort.buscarTodos());
+    }
+
+    @Override
+    public List<Evento> obtenerEventosCompletos() {
+        return ejecutar(consultas, eventosCompletos, Prioridad.LECTURA,
+                catedra::obtenerEventosCompletos, e -> eventoRepositoryPort.buscarTodos());
+    }
+
+    @Override
+    public int recorrerEventosCompletos(int tamanoLote, Consumer<List<Evento>> porLote) {
+        // Fuera del limitador: cada lote se guarda en la BD dentro de la llamada y ese
+        // tiempo no es RTT de Cátedra. Sin alternativa: si Cátedra no responde, el
+        // espejo local queda como está y la excepción llega a quien reintenta
+        return ejecutar(consultas, catalogo,
+                () -> catedra.recorrerEventosCompletos(tamanoLote, porLote), e -> {
+                    throw e;
+                });
+    }
+
+    @Override
+    public Evento obtenerEventoPorId(Long id) {
+        return eventosEnCurso.ejecutar(id, () -> ejecutar(consultas, evento, Prioridad.LECTURA,
+                () -> catedra.obtenerEventoPorId(id), e -> eventoRepositoryPort.buscarPorId(id).orElse(null)));
+    }
+
+    @Override
+    public CompletableFuture<Evento> obtenerEventoPorIdAsync(Long id) {
+        return eventosEnCurso.ejecutarAsync(id, () -> ejecutarAsync(consultas, evento, Prioridad.LECTURA,
+                () -> catedra.obtenerEventoPorIdAsync(id), e -> eventoRepositoryPort.buscarPorId(id).orElse(null)));
+    }
+
+    /**
+     * Para la sincronización: sin alternativa. Si Cátedra no responde (o el
+     * circuito está abierto) la excepción se propaga, para que la copia local no
+     * se tome por la respuesta de Cátedra ni un evento que falta en el espejo por
+     * una baja. Se agrupa aparte de obtenerEventoPorId, que sí usa el espejo.
+     */
+    @Override
+    public Evento obtenerEventoDeCatedra(Long id) {
+        return eventosDeCatedraEnCurso.ejecutar(id, () -> ejecutar(consultas, evento, Prioridad.LECTURA,
+                () -> catedra.obtenerEventoPorId(id), e -> {
+                    throw e;
+                }));
+    }
+
+    @Override
+    public boolean bloquearAsientos(Long eventoId, List<Asiento> asientos) {
+        return ejecutar(operaciones, bloqueo, Prioridad.VENTA,
+                () -> catedra.bloquearAsientos(eventoId, asientos), e -> false);
+    }
+
+    @Override
+    public Venta realizarVenta(Long eventoId, BigDecimal precioVenta, List<Asiento> asientos) {
+        return ejecutar(operaciones, venta, Prioridad.VENTA,
+                () -> catedra.realizarVenta(eventoId, precioVenta, asientos),
+                e -> ventaFallida(e instanceof ServicioSaturadoException
+                        ? e.getMessage()
+                        : "Catedra no disponible, intente nuevamente en unos minutos"));
+    }
+
+    @Override
+    public List<Venta> listarVentas() {
+        return ejecutar(consultas, ventas, Prioridad.LECTURA, catedra::listarVentas, e -> new ArrayList<>());
+    }
+
+    @Override
+    public Venta obtenerVentaPorId(Long id) {
+        return ejecutar(consultas, ventaDetalle, Prioridad.LECTURA, () -> catedra.obtenerVentaPorId(id), e -> null);
+    }
+
+    /**
+     * Ejecuta la llamada dentro del bulkhead, el circuit breaker y el limitador.
+     */
+    private <T> T ejecutar(Bulkhead bulkhead, CircuitBreaker circuitBreaker, Prioridad prioridad,
+                           Supplier<T> llamada, Function<RuntimeException, T> alternativa) {
+        return ejecutar(bulkhead, circuitBreaker,
+                () -> limitador.ejecutar(circuitBreaker.getName(), prioridad, llamada), alternativa);
+    }
+
+    /**
+     * Ejecuta la llamada dentro del bulkhead y el circuit breaker. Si no se
+     * permite (circuito abierto, bulkhead lleno, límite alcanzado) o Cátedra no
+     * está disponible, devuelve el resultado alternativo; cualquier otro error
+     * (p. ej. de la BD local) se propaga.
+     */
+    private <T> T ejecutar(Bulkhead bulkhead, CircuitBreaker circuitBreaker,
+                           Supplier<T> llamada, Function<RuntimeException, T> alternativa) {
+        try {
+            return Bulkhead.decorateSupplier(bulkhead,
+                    CircuitBreaker.decorateSupplier(circuitBreaker, llamada)).get();
+        } catch (RuntimeException e) {
+            if (!usaAlternativa(e)) {
+                throw e;
+            }
+            log.warn("Catedra no disponible en {} ({}): {}. Usando alternativa",
+                    circuitBreaker.getName(), circuitBreaker.getState(), e.getMessage());
+            return alternativa.apply(e);
+        }
+    }
+
+    /**
+     * Variante asíncrona de {@link #ejecutar}: los permisos del bulkhead y del
+     * limitador se liberan cuando termina el futuro, y la alternativa corre en
+     * el ejecutor de tareas de la aplicación.
+     */
+    private <T> CompletableFuture<T> ejecutarAsync(Bulkhead bulkhead, CircuitBreaker circuitBreaker,
+                                                   Prioridad prioridad, Supplier<CompletionStage<T>> llamada,
+                                                   Function<RuntimeException, T> alternativa) {
+        Supplier<CompletionStage<T>> limitada = () -> limitador.ejecutarAsync(circuitBreaker.getName(), prioridad, llamada);
+        return Bulkhead.decorateCompletionStage(bulkhead,
+                        CircuitBreaker.decorateCompletionStage(circuitBreaker, limitada))
+                .get()
+                .toCompletableFuture()
+                // La alternativa puede leer la BD local: no correrla en el hilo del
+                // HttpClient que completó el futuro
+                .exceptionallyAsync(error -> {
+                    Throwable causa = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (!usaAlternativa(causa)) {
+                        throw error instanceof CompletionException completion
+                                ? completion
+                                : new CompletionException(causa);
+                    }
+                    log.warn("Catedra no disponible en {} ({}): {}. Usando alternativa",
+                            circuitBreaker.getName(), circuitBreaker.getState(), causa.getMessage());
+                    return alternativa.apply(causa instanceof RuntimeException runtime
+                            ? runtime
+                            : new CompletionException(causa));
+                }, ejecutorAlternativas);
+    }
+
+    /**
+     * Solo los errores de comunicación con Cátedra (conexión, timeout, 5xx)
+     * cuentan para el circuit breaker.
+     */
+    private static boolean esFallaDeCatedra(Throwable e) {
+        return e instanceof RestClientException || e instanceof IOException;
+    }
+
+    /**
+     * La alternativa cubre los rechazos de la propia capa de resiliencia y las
+     * fallas de Cátedra, no errores ajenos a la llamada.
+     */
+    private static boolean usaAlternativa(Throwable e) {
+        return e instanceof CallNotPermittedException
+                || e instanceof BulkheadFullException
+                || e instanceof ServicioSaturadoException
+                || esFallaDeCatedra(e);
+    }
+
+    private void registrarCoalescida(Long eventoId) {
+        coalescidas.increment();
+        log.debug("Lectura del evento {} unida a una llamada en curso", eventoId);
+    }
+
+    private Venta ventaFallida(String descripcion) {
+        Venta ventaFallida = new Venta();
+        ventaFallida.setResultado(false);
+        ventaFallida.setDescripcion(descripcion);
+        return ventaFallida;
+    }
+}
\ No newline at end of file
@@ -15,30 +15,61 @@ import com.abel.eventos.infrastructure.adapter.out.catedra.dto.CatedraVentaReque
 import com.abel.eventos.infrastructure.adapter.out.catedra.dto.CatedraVentaResponseDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.core.exc.JacksonIOException;
+import tools.jackson.databind.ObjectMapper;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class CatedraServiceAdapter implements CatedraServicePort {
 
+    @Qualifier("catedraRestTemplate")
     private final RestTemplate restTemplate;
+    @Qualifier("catedraHttpClient")
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
 
     @Value("${catedra.api.base-url}")
     private String baseUrl;
 
+    @Value("${catedra.api.token}")
+    private String catedraToken;
+
+    @Value("${catedra.http.read-timeout-ms:30000}")
+    private long readTimeoutMs;
+
     @Override
     public List<Evento> obtenerEventosResumidos() {
         try {
@@ -61,6 +92,7 @@ public class CatedraServiceAdapter implements CatedraServicePort {
                     .toList();
 
         } catch (RestClientException e) {
+            relanzarSiNoDisponible(e);
             log.error("Error al obtener eventos resumidos de Catedra: {}", e.getMessage());
             return new ArrayList<>();
         }
@@ -88,11 +120,87 @@ public class CatedraServiceAdapter implements CatedraServicePort {
                     .toList();
 
         } catch (RestClientException e) {
+            relanzarSiNoDisponible(e);
             log.error("Error al obtener eventos completos de Catedra: {}", e.getMessage());
             return new ArrayList<>();
         }
     }
 
+    /**
+     * Lee el catálogo completo de a un evento por vez, sin materializar la
+     * respuesta entera: cada {@code tamanoLote} eventos se entregan a {@code porLote}
+     * y se descartan, así la memoria usada no depende del tamaño del catálogo.
+     * Devuelve la cantidad de eventos leídos.
+     */
+    @Override
+    public int recorrerEventosCompletos(int tamanoLote, Consumer<List<Evento>> porLote) {
+        String url = baseUrl + "/api/endpoints/v1/eventos";
+
+        try {
+            Integer leidos = restTemplate.execute(
+                    url,
+                    HttpMethod.GET,
+                    request -> request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON)),
+                    response -> {
+                        try (JsonParser parser = objectMapper.createParser(response.getBody())) {
+                            return leerPorLotes(parser, tamanoLote, porLote);
+                        } catch (JacksonIOException e) {
+                            // Un corte a mitad de la lectura es un error de conexión, no de formato
+                            throw new IOException(e.getMessage(), e);
+                        }
+                    }
+            );
+            return leidos != null ? leidos : 0;
+
+        } catch (RestClientException e) {
+            relanzarSiNoDisponible(e);
+            log.error("Error al recorrer eventos completos de Catedra: {}", e.getMessage());
+            return 0;
+        } catch (JacksonException e) {
+            log.error("Respuesta invalida de Catedra al recorrer eventos completos: {}", e.getMessage());
+            return 0;
+        }
+    }
+
+    private int leerPorLotes(JsonParser parser, int tamanoLote, Consumer<List<Evento>> porLote) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            log.warn("Catedra no devolvio un arreglo de eventos");
+            return 0;
+        }
+
+        int leidos = 0;
+        List<Evento> lote = new ArrayList<>(tamanoLote);
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                // El arreglo no se cerró: la respuesta llegó cortada
+                throw new IOException("Respuesta de Catedra incompleta despues de " + leidos + " eventos");
+            }
+            if (token != JsonToken.START_OBJECT) {
+                log.warn("Elemento del catalogo de Catedra que no es un evento ({}), se omite", token);
+                parser.skipChildren();
+                continue;
+            }
+
+            lote.add(toEventoCompleto(objectMapper.readValue(parser, CatedraEventoCompletoDTO.class)));
+            leidos++;
+
+            if (lote.size() == tamanoLote) {
+                porLote.accept(lote);
+                lote = new ArrayList<>(tamanoLote);
+            }
+        }
+        if (!lote.isEmpty()) {
+            porLote.accept(lote);
+        }
+        return leidos;
+    }
+
+    /**
+     * Devuelve null solo si Cátedra responde 404: el evento ya no existe y la
+     * sincronización lo puede dar de baja. Cualquier otra falla se propaga, para
+     * que no se confunda con una baja (ver CatedraResilienteAdapter).
+     */
     @Override
     public Evento obtenerEventoPorId(Long id) {
         try {
@@ -104,17 +212,69 @@ public class CatedraServiceAdapter implements CatedraServicePort {
             );
 
             if (response == null) {
-                return null;
+                throw new RestClientException("Respuesta vacia de Catedra para el evento " + id);
             }
 
             return toEventoCompleto(response);
 
+        } catch (HttpClientErrorException.NotFound e) {
+            log.info("Evento {} no existe en Catedra", id);
+            return null;
         } catch (RestClientException e) {
             log.error("Error al obtener evento {} de Catedra: {}", id, e.getMessage());
-            return null;
+            throw e;
         }
     }
 
+    @Override
+    public Evento obtenerEventoDeCatedra(Long id) {
+        // Sin capa de resiliencia ya no hay alternativa: es la misma consulta
+        return obtenerEventoPorId(id);
+    }
+
+    /**
+     * Igual que obtenerEventoPorId, pero sobre el HttpClient del JDK: ningún hilo
+     * queda bloqueado mientras Cátedra responde. Un 404 se resuelve con null y
+     * cualquier otra falla completa el futuro con error.
+     */
+    @Override
+    public CompletableFuture<Evento> obtenerEventoPorIdAsync(Long id) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/endpoints/v1/evento/" + id))
+                .timeout(Duration.ofMillis(readTimeoutMs))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + catedraToken)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    int estado = response.statusCode();
+                    if (estado >= 500) {
+                        throw HttpServerErrorException.create(HttpStatusCode.valueOf(estado),
+                                "Error de Catedra", new HttpHeaders(), response.body(), StandardCharsets.UTF_8);
+                    }
+                    if (estado == 404) {
+                        log.info("Evento {} no existe en Catedra", id);
+                        return null;
+                    }
+                    if (estado / 100 != 2) {
+                        log.error("Error al obtener evento {} de Catedra: HTTP {}", id, estado);
+                        throw HttpClientErrorException.create(HttpStatusCode.valueOf(estado),
+                                "Error de Catedra", new HttpHeaders(), response.body(), StandardCharsets.UTF_8);
+                    }
+                    if (response.body().length == 0) {
+                        throw new RestClientException("Respuesta vacia de Catedra para el evento " + id);
+                    }
+
+                    try {
+                        return toEventoCompleto(objectMapper.readValue(response.body(), CatedraEventoCompletoDTO.class));
+                    } catch (JacksonException e) {
+                        log.error("Respuesta invalida de Catedra para el evento {}: {}", id, e.getMessage());
+                        throw new RestClientException("Respuesta invalida de Catedra para el evento " + id, e);
+                    }
+                });
+    }
+
     @Override
     public boolean bloquearAsientos(Long eventoId, List<Asiento> asientos) {
         try {
@@ -145,6 +305,7 @@ public class CatedraServiceAdapter implements CatedraServicePort {
             return response.getResultado();
 
         } catch (RestClientException e) {
+            relanzarSiNoDisponible(e);
             log.error("Error al bloquear asientos en Catedra: {}", e.getMessage());
             return false;
         }
@@ -179,6 +340,7 @@ public class CatedraServiceAdapter implements CatedraServicePort {
             return toVenta(response);
 
         } catch (RestClientException e) {
+            relanzarSiNoDisponible(e);
             log.error("Error al realizar venta en Catedra: {}", e.getMessage());
             Venta ventaFallida = new Venta();
             ventaFallida.setResultado(false);
@@ -209,6 +371,7 @@ public class CatedraServiceAdapter implements CatedraServicePort {
                     .toList();
 
         } catch (RestClientException e) {
+            relanzarSiNoDisponible(e);
             log.error("Error al listar ventas de Catedra: {}", e.getMessage());
             return new ArrayList<>();
         }
@@ -231,11 +394,24 @@ public class CatedraServiceAdapter implements CatedraServicePort {
             return toVenta(response);
 
         } catch (RestClientException e) {
+            relanzarSiNoDisponible(e);
             log.error("Error al obtener venta {} de Catedra: {}", id, e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Los errores de conexión, timeouts y 5xx indican que Cátedra no está
+     * disponible: se propagan para que los cuente el circuit breaker
+     * (ver CatedraResilienteAdapter). Un 4xx es una respuesta válida de Cátedra
+     * y se sigue resolviendo acá.
+     */
+    private void relanzarSiNoDisponible(RestClientException e) {
+        if (e instanceof ResourceAccessException || e instanceof HttpServerErrorException) {
+            throw e;
+        }
+    }
+
     // === Métodos de conversión ===
 
     private Evento toEventoResumido(CatedraEventoResumidoDTO dto) {
@@ -0,0 +1,181 @@
+package com.abel.eventos.infrastructure.adapter.out.catedra;
+
+import com.abel.eventos.domain.exception.ServicioSaturadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Límite adaptativo (AIMD) de llamadas concurrentes hacia Cátedra.
+ * <p>
+ * El límite se aprende del RTT observado: mientras las respuestas llegan en un
+ * tiempo cercano al RTT de referencia y hay tráfico suficiente, el límite sube
+ * de a poco (+1 por ventana); si una llamada falla o tarda más de
+ * {@code toleranciaRtt} veces la referencia, baja de golpe ({@code × factorBaja}).
+ * <p>
+ * Cada operación (bloqueo, venta, detalle de un evento, catálogo...) tiene su
+ * propio RTT de referencia: un listado completo tarda segundos y un detalle
+ * milisegundos, y con una sola referencia una tapaba la lentitud de la otra.
+ * El límite, en cambio, es uno solo porque es la concurrencia que soporta Cátedra.
+ * <p>
+ * Cada permiso corresponde a una llamada real a Cátedra: las lecturas agrupadas
+ * del mismo evento se resuelven antes de llegar aquí (ver CatedraResilienteAdapter),
+ * así que quien espera una llamada ajena no cuenta en {@code enVuelo} ni aporta
+ * una muestra de RTT; solo se mide la llamada que hace el primero.
+ * <p>
+ * Las operaciones de venta pueden usar todo el límite; las lecturas solo
+ * la fracción {@code fraccionLecturas}, para que el resto quede libre para
+ * ventas durante un pico. Lo que excede el límite se rechaza al instante con
+ * {@link ServicioSaturadoException} en lugar de esperar un timeout.
+ */
+@Slf4j
+public class LimitadorConcurrencia {
+
+    public enum Prioridad { VENTA, LECTURA }
+
+    // Peso de cada muestra en el RTT de referencia (media móvil lenta)
+    private static final double PESO_REFERENCIA = 0.05;
+
+    private final int minimo;
+    private final int maximo;
+    private final double toleranciaRtt;
+    private final double factorBaja;
+    private final double fraccionLecturas;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private double limite;
+    private int enVuelo;
+    private final Map<String, Double> rttReferenciaNanos = new HashMap<>();
+
+    private final Counter rechazosVenta;
+    private final Counter rechazosLectura;
+
+    public LimitadorConcurrencia(int inicial, int minimo, int maximo, double toleranciaRtt,
+                                 double factorBaja, double fraccionLecturas, MeterRegistry meterRegistry) {
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.toleranciaRtt = toleranciaRtt;
+        this.factorBaja = factorBaja;
+        this.fraccionLecturas = fraccionLecturas;
+        this.limite = Math.max(minimo, Math.min(maximo, inicial));
+
+        Gauge.builder("catedra.concurrencia.limite", this, LimitadorConcurrencia::getLimite)
+                .register(meterRegistry);
+        Gauge.builder("catedra.concurrencia.en-vuelo", this, LimitadorConcurrencia::getEnVuelo)
+                .register(meterRegistry);
+        this.rechazosVenta = meterRegistry.counter("catedra.concurrencia.rechazos", "prioridad", "venta");
+        this.rechazosLectura = meterRegistry.counter("catedra.concurrencia.rechazos", "prioridad", "lectura");
+    }
+
+    public <T> T ejecutar(String operacion, Prioridad prioridad, Supplier<T> llamada) {
+        adquirir(prioridad);
+
+        long inicio = System.nanoTime();
+        boolean exito = false;
+        try {
+            T resultado = llamada.get();
+            exito = true;
+            return resultado;
+        } finally {
+            liberar(operacion, System.nanoTime() - inicio, exito);
+        }
+    }
+
+    /**
+     * Variante asíncrona: el permiso se libera (y se mide el RTT) cuando el
+     * futuro termina, no cuando vuelve la llamada.
+     */
+    public <T> CompletionStage<T> ejecutarAsync(String operacion, Prioridad prioridad,
+                                                Supplier<CompletionStage<T>> llamada) {
+        try {
+            adquirir(prioridad);
+        } catch (ServicioSaturadoException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+
+        long inicio = System.nanoTime();
+        CompletionStage<T> futuro;
+        try {
+            futuro = llamada.get();
+        } catch (RuntimeException e) {
+            liberar(operacion, System.nanoTime() - inicio, false);
+            return CompletableFuture.failedFuture(e);
+        }
+        return futuro.whenComplete((resultado, error) -> liberar(operacion, System.nanoTime() - inicio, error == null));
+    }
+
+    public int getLimite() {
+        lock.lock();
+        try {
+            return (int) limite;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getEnVuelo() {
+        lock.lock();
+        try {
+            return enVuelo;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void adquirir(Prioridad prioridad) {
+        lock.lock();
+        try {
+            double permitido = prioridad == Prioridad.VENTA ? limite : limite * fraccionLecturas;
+            if (enVuelo < Math.max(1, (int) permitido)) {
+                enVuelo++;
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        (prioridad == Prioridad.VENTA ? rechazosVenta : rechazosLectura).increment();
+        throw new ServicioSaturadoException("Catedra saturada, intente nuevamente en unos segundos");
+    }
+
+    private void liberar(String operacion, long rttNanos, boolean exito) {
+        lock.lock();
+        try {
+            int enVueloAlTerminar = enVuelo--;
+
+            // La primera muestra de cada operación fija su referencia
+            double referencia = rttReferenciaNanos.getOrDefault(operacion, (double) rttNanos);
+
+            boolean lenta = rttNanos > referencia * toleranciaRtt;
+            if (!exito || lenta) {
+                double anterior = limite;
+                limite = Math.max(minimo, limite * factorBaja);
+                if ((int) anterior != (int) limite) {
+                    log.debug("Limite de concurrencia hacia Catedra: {} -> {} ({})",
+                            (int) anterior, (int) limite, exito ? "lenta" : "error");
+                }
+            } else if (enVueloAlTerminar * 2 >= limite) {
+                // Solo crece si se está usando: sin carga el RTT no dice nada del límite
+                limite = Math.min(maximo, limite + 1.0 / limite);
+            }
+
+            // Las llamadas lentas mueven la referencia mucho menos, para que no se "acostumbre"
+            // a la cola pero sí siga un cambio permanente en la latencia de Cátedra
+            if (exito) {
+                double peso = lenta ? PESO_REFERENCIA / 10 : PESO_REFERENCIA;
+                referencia += (rttNanos - referencia) * peso;
+            }
+            rttReferenciaNanos.put(operacion, referencia);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
\ No newline at end of file
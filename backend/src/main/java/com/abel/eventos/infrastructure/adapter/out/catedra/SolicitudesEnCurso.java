@@ -0,0 +1,91 @@
+package com.abel.eventos.infrastructure.adapter.out.catedra;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa llamadas concurrentes con la misma clave en una sola ejecución.
+ * <p>
+ * El primer hilo que llega ejecuta la llamada; los que llegan mientras
+ * está en curso esperan y reciben el mismo resultado (o la misma excepción).
+ * Una vez terminada, la siguiente llamada vuelve a ejecutarse.
+ */
+public class SolicitudesEnCurso<K, V> {
+
+    private final Map<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final Consumer<K> alCoalescer;
+
+    /**
+     * @param alCoalescer se invoca cada vez que una llamada se une a otra en curso
+     */
+    public SolicitudesEnCurso(Consumer<K> alCoalescer) {
+        this.alCoalescer = alCoalescer;
+    }
+
+    public V ejecutar(K clave, Supplier<V> llamada) {
+        CompletableFuture<V> propia = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(clave, propia);
+
+        if (existente != null) {
+            alCoalescer.accept(clave);
+            return esperar(existente);
+        }
+
+        try {
+            V resultado = llamada.get();
+            propia.complete(resultado);
+            return resultado;
+        } catch (RuntimeException | Error e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    /**
+     * Variante asíncrona: quien llega mientras hay una llamada en curso recibe
+     * el mismo futuro en lugar de iniciar otra.
+     */
+    public CompletableFuture<V> ejecutarAsync(K clave, Supplier<CompletableFuture<V>> llamada) {
+        CompletableFuture<V> propia = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(clave, propia);
+
+        if (existente != null) {
+            alCoalescer.accept(clave);
+            return existente;
+        }
+
+        CompletableFuture<V> futuro;
+        try {
+            futuro = llamada.get();
+        } catch (RuntimeException | Error e) {
+            futuro = CompletableFuture.failedFuture(e);
+        }
+
+        futuro.whenComplete((resultado, error) -> {
+            enCurso.remove(clave, propia);
+            if (error != null) {
+                propia.completeExceptionally(error);
+            } else {
+                propia.complete(resultado);
+            }
+        });
+        return propia;
+    }
+
+    private V esperar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,278 @@
+package com.abel.eventos.infrastructure.adapter.out.memoria;
+
+import com.abel.eventos.application.port.out.SesionRepositoryPort;
+import com.abel.eventos.domain.exception.ConflictoSesionException;
+import com.abel.eventos.domain.model.Asiento;
+import com.abel.eventos.domain.model.Sesion;
+import com.abel.eventos.infrastructure.adapter.out.persistence.adapter.SesionRepositoryAdapter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sesiones de compra en memoria, con escritura diferida a la BD.
+ * <p>
+ * Las sesiones vivas se guardan por usuarioId y cada paso del flujo de compra
+ * las lee y escribe sin ir a la BD. Un hilo baja los cambios a MariaDB cada
+ * {@code sesiones.memoria.flush-ms}, agrupando varias escrituras de la misma
+ * sesión en una sola. Solo el alta de una sesión es sincrónica, para obtener su ID.
+ * <p>
+ * Tras un reinicio, las sesiones que no están en memoria se recuperan de la BD.
+ * Se activa con {@code sesiones.almacenamiento=memoria}.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "sesiones.almacenamiento", havingValue = "memoria")
+@Slf4j
+public class SesionMemoriaAdapter implements SesionRepositoryPort {
+
+    private static final int MINUTOS_EXPIRACION = 30;
+
+    private final SesionRepositoryAdapter sesionRepositoryAdapter;
+
+    private final Map<Long, Sesion> sesionesPorUsuario = new ConcurrentHashMap<>();
+    private final Map<Long, Long> usuarioPorSesion = new ConcurrentHashMap<>();
+
+    // Cambios todavía no escritos en la BD
+    private final Set<Long> usuariosModificados = ConcurrentHashMap.newKeySet();
+    private final Set<Long> sesionesEliminadas = ConcurrentHashMap.newKeySet();
+
+    // Serializa las escrituras a la BD entre el hilo de flush y las altas
+    private final ReentrantLock escritura = new ReentrantLock();
+
+    private final ScheduledExecutorService ejecutor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread hilo = new Thread(r, "sesiones-flush");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    private final Counter erroresFlush;
+
+    public SesionMemoriaAdapter(SesionRepositoryAdapter sesionRepositoryAdapter,
+                                MeterRegistry meterRegistry,
+                                @Value("${sesiones.memoria.flush-ms:1000}") long flushMs) {
+        this.sesionRepositoryAdapter = sesionRepositoryAdapter;
+
+        meterRegistry.gaugeMapSize("sesiones.memoria.activas", List.of(), sesionesPorUsuario);
+        meterRegistry.gauge("sesiones.memoria.pendientes", usuariosModificados,
+                pendientes -> pendientes.size() + sesionesEliminadas.size());
+        this.erroresFlush = meterRegistry.counter("sesiones.memoria.errores");
+
+        ejecutor.scheduleWithFixedDelay(this::flush, flushMs, flushMs, TimeUnit.MILLISECONDS);
+        log.info("Sesiones en memoria con escritura diferida cada {} ms", flushMs);
+    }
+
+    @Override
+    public Sesion guardar(Sesion sesion) {
+        Sesion copia = copiar(sesion);
+
+        if (copia.getId() == null) {
+            // Alta: se escribe ya para obtener el ID. Antes se aplican las bajas
+            // pendientes para no dejar dos sesiones del mismo usuario en la BD.
+            escritura.lock();
+            try {
+                aplicarEliminaciones();
+                copia = sesionRepositoryAdapter.guardar(copia);
+            } finally {
+                escritura.unlock();
+            }
+
+            Sesion anterior = sesionesPorUsuario.put(copia.getUsuarioId(), copia);
+            if (anterior != null) {
+                usuarioPorSesion.remove(anterior.getId());
+            }
+            usuarioPorSesion.put(copia.getId(), copia.getUsuarioId());
+            return copiar(copia);
+        }
+
+        // Modificación: compare-and-set sobre la sesión actual del usuario
+        Sesion nueva = copia;
+        sesionesPorUsuario.compute(copia.getUsuarioId(), (usuarioId, actual) -> {
+            if (actual == null || !actual.getId().equals(nueva.getId())) {
+                throw new ConflictoSesionException("La sesion " + nueva.getId() + " ya no esta activa");
+            }
+            if (!Objects.equals(actual.getVersion(), nueva.getVersion())) {
+                throw new ConflictoSesionException("La sesion fue modificada por otra operacion");
+            }
+            nueva.setVersion(nueva.getVersion() == null ? 0L : nueva.getVersion() + 1);
+            return nueva;
+        });
+        usuariosModificados.add(nueva.getUsuarioId());
+
+        return copiar(nueva);
+    }
+
+    @Override
+    public Optional<Sesion> buscarPorId(Long id) {
+        Long usuarioId = usuarioPorSesion.get(id);
+        if (usuarioId != null) {
+            Sesion sesion = sesionesPorUsuario.get(usuarioId);
+            if (sesion != null && sesion.getId().equals(id)) {
+                return Optional.of(copiar(sesion));
+            }
+        }
+
+        return sesionRepositoryAdapter.buscarPorId(id)
+                .flatMap(this::recuperar);
+    }
+
+    @Override
+    public Optional<Sesion> buscarPorUsuarioId(Long usuarioId) {
+        Sesion sesion = sesionesPorUsuario.get(usuarioId);
+        if (sesion != null) {
+            return Optional.of(copiar(sesion));
+        }
+
+        // No está en memoria (p. ej. después de un reinicio): recuperarla de la BD
+        return sesionRepositoryAdapter.buscarPorUsuarioId(usuarioId)
+                .flatMap(this::recuperar);
+    }
+
+    @Override
+    public void eliminarPorId(Long id) {
+        Long usuarioId = usuarioPorSesion.remove(id);
+        if (usuarioId != null) {
+            sesionesPorUsuario.computeIfPresent(usuarioId,
+                    (usuario, sesion) -> sesion.getId().equals(id) ? null : sesion);
+        }
+        sesionesEliminadas.add(id);
+    }
+
+    @Override
+    public int eliminarSesionesExpiradas() {
+        Instant fechaLimite = Instant.now().minus(MINUTOS_EXPIRACION, ChronoUnit.MINUTES);
+        int enMemoria = 0;
+        for (Sesion sesion : sesionesPorUsuario.values()) {
+            if (sesion.getUltimaActividad().isBefore(fechaLimite)) {
+                eliminarPorId(sesion.getId());
+                enMemoria++;
+            }
+        }
+
+        // Bajar primero los cambios pendientes, para que el barrido de la BD no borre
+        // una sesión cuya última actividad solo está en memoria
+        escritura.lock();
+        try {
+            flush();
+            return enMemoria + sesionRepositoryAdapter.eliminarSesionesExpiradas();
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    /**
+     * Escribe en la BD los cambios acumulados. Primero las modificaciones y
+     * después las bajas, para que una baja nunca quede pisada por un cambio anterior.
+     */
+    void flush() {
+        escritura.lock();
+        try {
+            for (Long usuarioId : usuariosModificados) {
+                usuariosModificados.remove(usuarioId);
+
+                Sesion sesion = sesionesPorUsuario.get(usuarioId);
+                if (sesion == null) {
+                    continue;
+                }
+
+                try {
+                    sesionRepositoryAdapter.sobrescribir(copiar(sesion));
+                } catch (Exception e) {
+                    erroresFlush.increment();
+                    log.warn("No se pudo guardar la sesion {} en la BD: {}", sesion.getId(), e.getMessage());
+                }
+            }
+
+            aplicarEliminaciones();
+        } catch (Exception e) {
+            erroresFlush.increment();
+            log.error("Error escribiendo sesiones en la BD: {}", e.getMessage(), e);
+        } finally {
+            escritura.unlock();
+        }
+    }
+
+    private void aplicarEliminaciones() {
+        for (Long id : sesionesEliminadas) {
+            try {
+                sesionRepositoryAdapter.eliminarPorId(id);
+                sesionesEliminadas.remove(id);
+            } catch (Exception e) {
+                erroresFlush.increment();
+                log.warn("No se pudo eliminar la sesion {} de la BD: {}", id, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void detener() {
+        ejecutor.shutdown();
+        // Último flush para no perder los cambios al apagar
+        flush();
+    }
+
+    private Optional<Sesion> recuperar(Sesion sesion) {
+        // Sigue en la BD solo porque su baja todavía no se escribió
+        if (sesionesEliminadas.contains(sesion.getId())) {
+            return Optional.empty();
+        }
+
+        Sesion actual = sesionesPorUsuario.putIfAbsent(sesion.getUsuarioId(), sesion);
+        if (actual != null) {
+            return Optional.of(copiar(actual));
+        }
+        usuarioPorSesion.put(sesion.getId(), sesion.getUsuarioId());
+        return Optional.of(copiar(sesion));
+    }
+
+    /**
+     * Las sesiones en memoria nunca se comparten: quien las lee o guarda
+     * trabaja sobre una copia.
+     */
+    private Sesion copiar(Sesion sesion) {
+        List<Asiento> asientos = null;
+        if (sesion.getAsientosSeleccionados() != null) {
+            asientos = new ArrayList<>(sesion.getAsientosSeleccionados().size());
+            for (Asiento asiento : sesion.getAsientosSeleccionados()) {
+                asientos.add(new Asiento(
+                        asiento.getId(),
+                        asiento.getFila(),
+                        asiento.getColumna(),
+                        asiento.getEstado(),
+                        asiento.getPersona()
+                ));
+            }
+        }
+
+        return new Sesion(
+                sesion.getId(),
+                sesion.getUsuarioId(),
+                sesion.getEventoId(),
+                sesion.getEstado(),
+                asientos,
+                sesion.getCreadoEn(),
+                sesion.getUltimaActividad(),
+                sesion.getVersion(),
+                sesion.getSnapshotEvento()
+        );
+    }
+}
\ No newline at end of file
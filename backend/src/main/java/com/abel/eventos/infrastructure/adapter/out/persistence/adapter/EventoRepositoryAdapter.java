@@ -10,14 +10,20 @@ import com.abel.eventos.infrastructure.adapter.out.persistence.entity.Integrante
 import com.abel.eventos.infrastructure.adapter.out.persistence.repository.EventoJpaRepository;
 import com.abel.eventos.infrastructure.adapter.out.persistence.repository.EventoTipoJpaRepository;
 import com.abel.eventos.infrastructure.adapter.out.persistence.repository.IntegranteJpaRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Component
 @RequiredArgsConstructor
@@ -27,6 +33,7 @@ public class EventoRepositoryAdapter implements EventoRepositoryPort {
     private final EventoJpaRepository eventoJpaRepository;
     private final EventoTipoJpaRepository eventoTipoJpaRepository;
     private final IntegranteJpaRepository integranteJpaRepository;
+    private final EntityManager entityManager;
 
     @Override
     @Transactional
@@ -55,19 +62,146 @@ public class EventoRepositoryAdapter implements EventoRepositoryPort {
         return toDomain(savedEntity);
     }
 
+    /**
+     * Guarda un lote de eventos con pocas consultas por conjunto.
+     * <p>
+     * Precarga los eventos, tipos e integrantes existentes, resuelve las
+     * diferencias en memoria y deja que Hibernate escriba los cambios al hacer
+     * flush. Los INSERT y UPDATE de eventos (ID asignado) y los UPDATE de tipos
+     * e integrantes van en lotes JDBC ({@code hibernate.jdbc.batch_size}); los
+     * tipos e integrantes nuevos no, porque su ID es IDENTITY y Hibernate los
+     * inserta uno a uno en el persist() para conocerlo. Son pocos: la mayoría
+     * se repite entre eventos y ya existe.
+     */
+    @Override
+    @Transactional
+    public void guardarTodos(List<Evento> eventos) {
+        if (eventos.isEmpty()) {
+            return;
+        }
+
+        Set<Long> ids = new HashSet<>();
+        Set<String> nombresTipo = new HashSet<>();
+        Set<String> nombresIntegrante = new HashSet<>();
+        for (Evento evento : eventos) {
+            ids.add(evento.getId());
+            if (evento.getEventoTipo() != null) {
+                nombresTipo.add(evento.getEventoTipo().getNombre());
+            }
+            if (evento.getIntegrantes() != null) {
+                for (Integrante integrante : evento.getIntegrantes()) {
+                    nombresIntegrante.add(integrante.getNombre());
+                }
+            }
+        }
+
+        // Una consulta por tabla para todo el lote
+        Map<Long, EventoEntity> existentes = new HashMap<>();
+        for (EventoEntity entity : eventoJpaRepository.findByIdIn(ids)) {
+            existentes.put(entity.getId(), entity);
+        }
+
+        Map<String, EventoTipoEntity> tipos = new HashMap<>();
+        if (!nombresTipo.isEmpty()) {
+            for (EventoTipoEntity tipo : eventoTipoJpaRepository.findByNombreIn(nombresTipo)) {
+                tipos.putIfAbsent(tipo.getNombre(), tipo);
+            }
+        }
+
+        Map<ClaveIntegrante, IntegranteEntity> integrantes = new HashMap<>();
+        if (!nombresIntegrante.isEmpty()) {
+            for (IntegranteEntity integrante : integranteJpaRepository.findByNombreIn(nombresIntegrante)) {
+                integrantes.putIfAbsent(new ClaveIntegrante(integrante.getNombre(), integrante.getApellido()), integrante);
+            }
+        }
+
+        int nuevos = 0;
+        for (Evento evento : eventos) {
+            EventoEntity entity = existentes.get(evento.getId());
+            boolean esNuevo = entity == null;
+            if (esNuevo) {
+                entity = new EventoEntity();
+                entity.setId(evento.getId());
+            }
+
+            copiarDatos(entity, evento);
+
+            if (evento.getEventoTipo() != null) {
+                entity.setEventoTipo(resolverTipo(evento.getEventoTipo(), tipos));
+            }
+
+            if (evento.getIntegrantes() != null) {
+                List<IntegranteEntity> nuevosIntegrantes = new ArrayList<>();
+                for (Integrante integrante : evento.getIntegrantes()) {
+                    nuevosIntegrantes.add(resolverIntegrante(integrante, integrantes));
+                }
+                // Reemplazar la colección borra y reinserta la tabla intermedia; evitarlo si no cambió
+                if (!mismosIntegrantes(entity.getIntegrantes(), nuevosIntegrantes)) {
+                    entity.setIntegrantes(nuevosIntegrantes);
+                }
+            }
+
+            if (esNuevo) {
+                // Con ID asignado, save() haría un merge con un SELECT previo
+                entityManager.persist(entity);
+                existentes.put(entity.getId(), entity);
+                nuevos++;
+            }
+            // Los existentes están gestionados: el dirty checking emite solo los UPDATE necesarios
+        }
+
+        log.info("Lote de {} eventos guardado: {} nuevos, {} existentes",
+                eventos.size(), nuevos, eventos.size() - nuevos);
+    }
+
+    private EventoTipoEntity resolverTipo(EventoTipo tipo, Map<String, EventoTipoEntity> tipos) {
+        EventoTipoEntity entity = tipos.get(tipo.getNombre());
+        if (entity == null) {
+            entity = new EventoTipoEntity();
+            entity.setNombre(tipo.getNombre());
+            entity.setDescripcion(tipo.getDescripcion());
+            entityManager.persist(entity);
+            tipos.put(tipo.getNombre(), entity);
+        } else {
+            entity.setDescripcion(tipo.getDescripcion());
+        }
+        return entity;
+    }
+
+    private IntegranteEntity resolverIntegrante(Integrante integrante,
+                                                Map<ClaveIntegrante, IntegranteEntity> integrantes) {
+        ClaveIntegrante clave = new ClaveIntegrante(integrante.getNombre(), integrante.getApellido());
+        IntegranteEntity entity = integrantes.get(clave);
+        if (entity == null) {
+            entity = new IntegranteEntity();
+            entity.setNombre(integrante.getNombre());
+            entity.setApellido(integrante.getApellido());
+            entity.setIdentificacion(integrante.getIdentificacion());
+            entityManager.persist(entity);
+            integrantes.put(clave, entity);
+        } else {
+            entity.setIdentificacion(integrante.getIdentificacion());
+        }
+        return entity;
+    }
+
+    private boolean mismosIntegrantes(List<IntegranteEntity> actuales, List<IntegranteEntity> nuevos) {
+        if (actuales == null || actuales.size() != nuevos.size()) {
+            return false;
+        }
+        for (int i = 0; i < nuevos.size(); i++) {
+            if (!Objects.equals(actuales.get(i).getId(), nuevos.get(i).getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Actualiza los campos de una entidad existente con los datos del dominio.
      */
     private void actualizarCampos(EventoEntity entity, Evento evento) {
-        entity.setTitulo(evento.getTitulo());
-        entity.setResumen(evento.getResumen());
-        entity.setDescripcion(evento.getDescripcion());
-        entity.setFecha(evento.getFecha());
-        entity.setDireccion(evento.getDireccion());
-        entity.setImagen(evento.getImagen());
-        entity.setFilaAsientos(evento.getFilaAsientos());
-        entity.setColumnaAsientos(evento.getColumnaAsientos());
-        entity.setPrecioEntrada(evento.getPrecioEntrada());
+        copiarDatos(entity, evento);
 
         // Actualizar EventoTipo
         if (evento.getEventoTipo() != null) {
@@ -86,6 +220,21 @@ public class EventoRepositoryAdapter implements EventoRepositoryPort {
         }
     }
 
+    /**
+     * Copia los datos propios del evento, sin tipo ni integrantes.
+     */
+    private void copiarDatos(EventoEntity entity, Evento evento) {
+        entity.setTitulo(evento.getTitulo());
+        entity.setResumen(evento.getResumen());
+        entity.setDescripcion(evento.getDescripcion());
+        entity.setFecha(evento.getFecha());
+        entity.setDireccion(evento.getDireccion());
+        entity.setImagen(evento.getImagen());
+        entity.setFilaAsientos(evento.getFilaAsientos());
+        entity.setColumnaAsientos(evento.getColumnaAsientos());
+        entity.setPrecioEntrada(evento.getPrecioEntrada());
+    }
+
     /**
      * Obtiene un EventoTipo existente o crea uno nuevo.
      * Busca por nombre ya que Cátedra no envía IDs para EventoTipo.
@@ -133,12 +282,14 @@ public class EventoRepositoryAdapter implements EventoRepositoryPort {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<Evento> buscarPorId(Long id) {
         return eventoJpaRepository.findById(id)
                 .map(this::toDomain);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<Evento> buscarTodos() {
         return eventoJpaRepository.findAll().stream()
                 .map(this::toDomain)
@@ -150,6 +301,25 @@ public class EventoRepositoryAdapter implements EventoRepositoryPort {
         eventoJpaRepository.deleteById(id);
     }
 
+    /**
+     * Elimina los eventos locales que no están en idsVigentes (ya no existen en Cátedra).
+     * Se borran por entidad para que Hibernate limpie también la tabla de integrantes.
+     */
+    @Override
+    @Transactional
+    public int eliminarExcepto(Set<Long> idsVigentes) {
+        List<Long> sobrantes = eventoJpaRepository.findAllIds().stream()
+                .filter(id -> !idsVigentes.contains(id))
+                .toList();
+        if (sobrantes.isEmpty()) {
+            return 0;
+        }
+
+        eventoJpaRepository.deleteAllById(sobrantes);
+        log.info("Eliminados {} eventos que ya no estan en Catedra: {}", sobrantes.size(), sobrantes);
+        return sobrantes.size();
+    }
+
     @Override
     public boolean existePorId(Long id) {
         return eventoJpaRepository.existsById(id);
@@ -176,6 +346,7 @@ public class EventoRepositoryAdapter implements EventoRepositoryPort {
         evento.setFilaAsientos(entity.getFilaAsientos());
         evento.setColumnaAsientos(entity.getColumnaAsientos());
         evento.setPrecioEntrada(entity.getPrecioEntrada());
+        evento.setUltimaActualizacion(entity.getUltimaActualizacion());
 
         if (entity.getEventoTipo() != null) {
             evento.setEventoTipo(toEventoTipoDomain(entity.getEventoTipo()));
@@ -206,4 +377,7 @@ public class EventoRepositoryAdapter implements EventoRepositoryPort {
                 entity.getIdentificacion()
         );
     }
+
+    private record ClaveIntegrante(String nombre, String apellido) {
+    }
 }
\ No newline at end of file
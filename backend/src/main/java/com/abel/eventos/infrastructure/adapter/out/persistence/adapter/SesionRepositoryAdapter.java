@@ -1,15 +1,21 @@
 package com.abel.eventos.infrastructure.adapter.out.persistence.adapter;
 
 import com.abel.eventos.application.port.out.SesionRepositoryPort;
+import com.abel.eventos.domain.exception.ConflictoSesionException;
 import com.abel.eventos.domain.model.Asiento;
 import com.abel.eventos.domain.model.Sesion;
+import com.abel.eventos.domain.model.SnapshotEvento;
 import com.abel.eventos.infrastructure.adapter.out.persistence.entity.SesionAsientoEntity;
 import com.abel.eventos.infrastructure.adapter.out.persistence.entity.SesionEntity;
 import com.abel.eventos.infrastructure.adapter.out.persistence.entity.UsuarioEntity;
 import com.abel.eventos.infrastructure.adapter.out.persistence.repository.SesionJpaRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -22,14 +28,39 @@ import java.util.Optional;
 public class SesionRepositoryAdapter implements SesionRepositoryPort {
 
     private final SesionJpaRepository sesionJpaRepository;
+    private final TransactionTemplate transactionTemplate;
 
     private static final int MINUTOS_EXPIRACION = 30;
 
+    @Value("${sesiones.barrido.lote:500}")
+    private int tamanioLote;
+
     @Override
     public Sesion guardar(Sesion sesion) {
         SesionEntity entity = toEntity(sesion);
-        SesionEntity savedEntity = sesionJpaRepository.save(entity);
-        return toDomain(savedEntity);
+        try {
+            SesionEntity savedEntity = sesionJpaRepository.save(entity);
+            return toDomain(savedEntity);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ConflictoSesionException("La sesion fue modificada por otra operacion", e);
+        } catch (DataIntegrityViolationException e) {
+            // Alta de una sesión para un usuario que ya tiene una (uk_sesiones_usuario)
+            throw new ConflictoSesionException("El usuario ya tiene una sesion activa", e);
+        }
+    }
+
+    /**
+     * Guarda la sesión sobre la versión que tenga la BD, sin control de concurrencia.
+     * Lo usa el almacenamiento en memoria, que ya resolvió los conflictos y lleva su
+     * propia versión. Si la sesión ya no existe en la BD no hace nada.
+     */
+    public void sobrescribir(Sesion sesion) {
+        transactionTemplate.executeWithoutResult(status ->
+                sesionJpaRepository.findVersionById(sesion.getId()).ifPresent(versionActual -> {
+                    SesionEntity entity = toEntity(sesion);
+                    entity.setVersion(versionActual);
+                    sesionJpaRepository.save(entity);
+                }));
     }
 
     @Override
@@ -49,12 +80,32 @@ public class SesionRepositoryAdapter implements SesionRepositoryPort {
         sesionJpaRepository.deleteById(id);
     }
 
+    /**
+     * Borra las sesiones expiradas en lotes, sin cargar las entidades: por cada
+     * lote se leen solo los IDs (usando el índice de ultima_actividad) y se hacen
+     * dos DELETE por conjunto, asientos y sesiones, en una transacción corta.
+     */
     @Override
-    @Transactional
-    public void eliminarSesionesExpiradas() {
+    public int eliminarSesionesExpiradas() {
         Instant fechaLimite = Instant.now().minus(MINUTOS_EXPIRACION, ChronoUnit.MINUTES);
-        List<SesionEntity> sesionesExpiradas = sesionJpaRepository.findByUltimaActividadBefore(fechaLimite);
-        sesionJpaRepository.deleteAll(sesionesExpiradas);
+        PageRequest lote = PageRequest.of(0, tamanioLote);
+
+        int total = 0;
+        int eliminadas;
+        do {
+            Integer resultado = transactionTemplate.execute(status -> {
+                List<Long> ids = sesionJpaRepository.findIdsByUltimaActividadBefore(fechaLimite, lote);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                sesionJpaRepository.deleteAsientosBySesionIdIn(ids);
+                return sesionJpaRepository.deleteByIdIn(ids);
+            });
+            eliminadas = resultado != null ? resultado : 0;
+            total += eliminadas;
+        } while (eliminadas == tamanioLote);
+
+        return total;
     }
 
     // === Métodos de conversión ===
@@ -65,6 +116,7 @@ public class SesionRepositoryAdapter implements SesionRepositoryPort {
         entity.setEstado(sesion.getEstado());
         entity.setCreadoEn(sesion.getCreadoEn());
         entity.setUltimaActividad(sesion.getUltimaActividad());
+        entity.setVersion(sesion.getVersion());
 
         // Referencia al usuario
         if (sesion.getUsuarioId() != null) {
@@ -76,6 +128,14 @@ public class SesionRepositoryAdapter implements SesionRepositoryPort {
         // Guardar evento ID directamente (sin relación JPA)
         entity.setEventoId(sesion.getEventoId());
 
+        SnapshotEvento snapshot = sesion.getSnapshotEvento();
+        if (snapshot != null) {
+            entity.setEventoFilas(snapshot.filas());
+            entity.setEventoColumnas(snapshot.columnas());
+            entity.setEventoPrecio(snapshot.precioEntrada());
+            entity.setEventoVersion(snapshot.versionEvento());
+        }
+
         // Convertir asientos seleccionados
         if (sesion.getAsientosSeleccionados() != null) {
             List<SesionAsientoEntity> asientosEntity = new ArrayList<>();
@@ -99,6 +159,7 @@ public class SesionRepositoryAdapter implements SesionRepositoryPort {
         sesion.setEstado(entity.getEstado());
         sesion.setCreadoEn(entity.getCreadoEn());
         sesion.setUltimaActividad(entity.getUltimaActividad());
+        sesion.setVersion(entity.getVersion());
 
         if (entity.getUsuario() != null) {
             sesion.setUsuarioId(entity.getUsuario().getId());
@@ -107,6 +168,17 @@ public class SesionRepositoryAdapter implements SesionRepositoryPort {
         // Obtener evento ID directamente
         sesion.setEventoId(entity.getEventoId());
 
+        if (entity.getEventoFilas() != null && entity.getEventoColumnas() != null
+                && entity.getEventoVersion() != null) {
+            sesion.setSnapshotEvento(new SnapshotEvento(
+                    entity.getEventoId(),
+                    entity.getEventoFilas(),
+                    entity.getEventoColumnas(),
+                    entity.getEventoPrecio(),
+                    entity.getEventoVersion()
+            ));
+        }
+
         // Convertir asientos seleccionados
         if (entity.getAsientosSeleccionados() != null) {
             List<Asiento> asientos = entity.getAsientosSeleccionados().stream()
@@ -10,6 +10,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.CascadeType;
+import org.hibernate.annotations.UpdateTimestamp;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -67,4 +68,9 @@ public class EventoEntity {
             inverseJoinColumns = @JoinColumn(name = "integrante_id")
     )
     private List<IntegranteEntity> integrantes;
+
+    // La pone Hibernate en cada INSERT/UPDATE; es la versión del evento en los snapshots
+    @UpdateTimestamp
+    @Column(name = "ultima_actualizacion")
+    private Instant ultimaActualizacion;
 }
\ No newline at end of file
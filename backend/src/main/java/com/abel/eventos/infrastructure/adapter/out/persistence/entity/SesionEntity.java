@@ -3,6 +3,8 @@ package com.abel.eventos.infrastructure.adapter.out.persistence.entity;
 import com.abel.eventos.domain.model.SesionEstado;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
+import jakarta.persistence.Index;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Id;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -14,15 +16,25 @@ import jakarta.persistence.OneToMany;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Version;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 
 @Entity
-@Table(name = "sesiones")
+@Table(name = "sesiones", indexes = {
+        // Para el barrido de sesiones expiradas
+        @Index(name = "idx_sesiones_ultima_actividad", columnList = "ultima_actividad")
+}, uniqueConstraints = {
+        // Una sesión por usuario: dos altas concurrentes no pueden convivir
+        @UniqueConstraint(name = "uk_sesiones_usuario", columnNames = "usuario_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -39,16 +51,36 @@ public class SesionEntity {
     @Column(name = "evento_id")
     private Long eventoId;
 
+    // Snapshot del evento tomado al iniciar la sesión
+    @Column(name = "evento_filas")
+    private Integer eventoFilas;
+
+    @Column(name = "evento_columnas")
+    private Integer eventoColumnas;
+
+    @Column(name = "evento_precio", precision = 10, scale = 2)
+    private BigDecimal eventoPrecio;
+
+    @Column(name = "evento_version")
+    private Long eventoVersion;
+
+    // VARCHAR y no ENUM nativo de MariaDB: agregar un estado no requiere alterar la columna
     @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
     @Column(nullable = false, length = 30)
     private SesionEstado estado;
 
     @Column(nullable = false)
     private Instant creadoEn;
 
-    @Column(nullable = false)
+    @Column(name = "ultima_actividad", nullable = false)
     private Instant ultimaActividad;
 
+    // Control de concurrencia optimista: una escritura con versión vieja se rechaza
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     @OneToMany(mappedBy = "sesion", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     private List<SesionAsientoEntity> asientosSeleccionados;
 }
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.abel.eventos.infrastructure.adapter.out.persistence.repository;
 
 import com.abel.eventos.infrastructure.adapter.out.persistence.entity.EventoEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +16,11 @@ public interface EventoJpaRepository extends JpaRepository<EventoEntity, Long> {
     List<EventoEntity> findByFechaAfter(Instant fecha);
 
     List<EventoEntity> findByEventoTipoId(Long eventoTipoId);
+
+    // Trae tipo e integrantes en la misma consulta para no cargarlos evento por evento
+    @EntityGraph(attributePaths = {"eventoTipo", "integrantes"})
+    List<EventoEntity> findByIdIn(Collection<Long> ids);
+
+    @Query("select e.id from EventoEntity e")
+    List<Long> findAllIds();
 }
\ No newline at end of file
@@ -4,10 +4,14 @@ import com.abel.eventos.infrastructure.adapter.out.persistence.entity.EventoTipo
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface EventoTipoJpaRepository extends JpaRepository<EventoTipoEntity, Long> {
 
     Optional<EventoTipoEntity> findByNombre(String nombre);
+
+    List<EventoTipoEntity> findByNombreIn(Collection<String> nombres);
 }
\ No newline at end of file
@@ -4,10 +4,14 @@ import com.abel.eventos.infrastructure.adapter.out.persistence.entity.Integrante
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IntegranteJpaRepository extends JpaRepository<IntegranteEntity, Long> {
 
     Optional<IntegranteEntity> findByNombreAndApellido(String nombre, String apellido);
+
+    List<IntegranteEntity> findByNombreIn(Collection<String> nombres);
 }
\ No newline at end of file
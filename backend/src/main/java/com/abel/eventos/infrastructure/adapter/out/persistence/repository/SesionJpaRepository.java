@@ -1,10 +1,15 @@
 package com.abel.eventos.infrastructure.adapter.out.persistence.repository;
 
 import com.abel.eventos.infrastructure.adapter.out.persistence.entity.SesionEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +21,18 @@ public interface SesionJpaRepository extends JpaRepository<SesionEntity, Long> {
     List<SesionEntity> findByUltimaActividadBefore(Instant fecha);
 
     void deleteByUsuarioId(Long usuarioId);
+
+    @Query("select s.version from SesionEntity s where s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select s.id from SesionEntity s where s.ultimaActividad < :fecha order by s.ultimaActividad")
+    List<Long> findIdsByUltimaActividadBefore(@Param("fecha") Instant fecha, Pageable pageable);
+
+    @Modifying
+    @Query("delete from SesionAsientoEntity a where a.sesion.id in :ids")
+    int deleteAsientosBySesionIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from SesionEntity s where s.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import com.abel.eventos.infrastructure.adapter.out.proxy.dto.ProxyVerificacionRe
 import com.abel.eventos.infrastructure.adapter.out.proxy.dto.ProxyVerificacionResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -16,9 +17,16 @@ import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
+import tools.jackson.databind.ObjectMapper;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Component
@@ -26,11 +34,18 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProxyServiceAdapter implements ProxyServicePort {
 
+    @Qualifier("proxyRestTemplate")
     private final RestTemplate restTemplate;
+    @Qualifier("proxyHttpClient")
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
 
     @Value("${proxy.url}")
     private String proxyUrl;
 
+    @Value("${proxy.http.read-timeout-ms:10000}")
+    private long readTimeoutMs;
+
     @Override
     public List<Asiento> obtenerAsientosOcupados(Long eventoId) {
         String url = proxyUrl + "/api/proxy/eventos/" + eventoId + "/asientos";
@@ -59,6 +74,40 @@ public class ProxyServiceAdapter implements ProxyServicePort {
         }
     }
 
+    /**
+     * Igual que obtenerAsientosOcupados, pero sobre el HttpClient del JDK para
+     * poder consultarlo en paralelo con otras llamadas. Ante cualquier error
+     * devuelve una lista vacía, como la variante sincrónica.
+     */
+    @Override
+    public CompletableFuture<List<Asiento>> obtenerAsientosOcupadosAsync(Long eventoId) {
+        String url = proxyUrl + "/api/proxy/eventos/" + eventoId + "/asientos";
+
+        log.info("Consultando asientos ocupados al Proxy (async): {}", url);
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofMillis(readTimeoutMs))
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .GET()
+                .build();
+
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() / 100 != 2 || response.body().length == 0) {
+                        log.warn("Proxy respondió sin datos (HTTP {})", response.statusCode());
+                        return new ArrayList<Asiento>();
+                    }
+
+                    ProxyEventoAsientosDTO dto = objectMapper.readValue(response.body(), ProxyEventoAsientosDTO.class);
+                    log.info("Proxy respondió con {} asientos ocupados", dto.getAsientos().size());
+                    return convertirADominio(dto.getAsientos());
+                })
+                .exceptionally(e -> {
+                    log.error("Error consultando al Proxy: {}", e.getMessage());
+                    return new ArrayList<>();
+                });
+    }
+
     @Override
     public boolean verificarDisponibilidad(Long eventoId, List<Asiento> asientos) {
         String url = proxyUrl + "/api/proxy/eventos/" + eventoId + "/verificar";
@@ -85,8 +134,15 @@ public class ProxyServiceAdapter implements ProxyServicePort {
             );
 
             if (response.getStatusCode().is2xxSuccessful() && response.getBody() != null) {
-                boolean disponible = response.getBody().getDisponible();
+                ProxyVerificacionResponse verificacion = response.getBody();
+                boolean disponible = verificacion.getDisponible();
                 log.info("Verificación completada. Disponible: {}", disponible);
+
+                if (!disponible && verificacion.getAsientosNoDisponibles() != null) {
+                    verificacion.getAsientosNoDisponibles().forEach(a ->
+                            log.info("Asiento [{},{}] no disponible. Estado: {}",
+                                    a.getFila(), a.getColumna(), a.getEstado()));
+                }
                 return disponible;
             }
 
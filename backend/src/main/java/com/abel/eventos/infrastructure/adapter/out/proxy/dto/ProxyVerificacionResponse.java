@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,4 +14,5 @@ public class ProxyVerificacionResponse {
     private Long eventoId;
     private Boolean disponible;
     private Integer asientosConsultados;
+    private List<ProxyAsientoDTO> asientosNoDisponibles;
 }
\ No newline at end of file
@@ -0,0 +1,275 @@
+package com.abel.eventos.infrastructure.adapter.out.redis;
+
+import com.abel.eventos.application.port.out.SesionRepositoryPort;
+import com.abel.eventos.domain.exception.ConflictoSesionException;
+import com.abel.eventos.domain.model.Asiento;
+import com.abel.eventos.domain.model.Sesion;
+import com.abel.eventos.domain.model.SesionEstado;
+import com.abel.eventos.domain.model.SnapshotEvento;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Sesiones de compra en un Redis propio, compartidas entre todas las instancias del backend.
+ * <p>
+ * Cada sesión es un hash en {@code sesion:{<usuarioId>}} y un puntero
+ * {@code sesion:id:<id>} con el usuarioId. Los asientos se guardan en un solo
+ * campo ({@code fila:columna} separados por coma) y la persona de cada asiento
+ * en {@code persona:<fila>:<columna>}. Ambas claves expiran con el TTL de
+ * Redis, que se renueva en cada escritura, así que no hace falta barrer expiradas.
+ * <p>
+ * Las escrituras y bajas del hash son scripts Lua sobre esa única clave: una
+ * sesión nunca queda a medio escribir y una escritura sobre una sesión ya
+ * reemplazada, o con una versión que no es la actual, se rechaza. El puntero
+ * es solo un índice que se actualiza después del script; al leer por ID se
+ * comprueba que el hash siga siendo esa sesión.
+ * Se activa con {@code sesiones.almacenamiento=redis}.
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "sesiones.almacenamiento", havingValue = "redis")
+@Slf4j
+public class SesionRedisAdapter implements SesionRepositoryPort {
+
+    // El hash tag es el usuarioId: en Redis Cluster las sesiones se reparten entre
+    // los slots y cada script toca una sola clave
+    private static final String PREFIJO_USUARIO = "sesion:";
+    private static final String PREFIJO_ID = "sesion:id:";
+    private static final String CLAVE_SECUENCIA = "sesion:secuencia";
+    private static final String PREFIJO_PERSONA = "persona:";
+
+    /*
+     * KEYS[1] = hash de la sesión
+     * ARGV[1] = TTL en ms, ARGV[2] = ID esperado en el hash ("" si es un alta),
+     * ARGV[3] = versión esperada, ARGV[4..] = pares campo/valor
+     * Devuelve la nueva versión, o -1 si la sesión ya no es la esperada o, en un alta,
+     * si el usuario ya tiene otra sesión.
+     */
+    private static final RedisScript<Long> GUARDAR = new DefaultRedisScript<>("""
+            local actual = redis.call('HGET', KEYS[1], 'id')
+            local version = 0
+            if ARGV[2] ~= '' then
+                if actual ~= ARGV[2] or redis.call('HGET', KEYS[1], 'version') ~= ARGV[3] then
+                    return -1
+                end
+                version = tonumber(ARGV[3]) + 1
+            elseif actual then
+                return -1
+            end
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], 'version', version, unpack(ARGV, 4))
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return version
+            """, Long.class);
+
+    /*
+     * KEYS[1] = hash del usuario; ARGV[1] = ID
+     * Borra la sesión solo si el hash del usuario sigue siendo esa sesión.
+     */
+    private static final RedisScript<Long> ELIMINAR = new DefaultRedisScript<>("""
+            if redis.call('HGET', KEYS[1], 'id') == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public SesionRedisAdapter(StringRedisTemplate redisTemplate,
+                              @Value("${sesiones.redis.ttl-minutos:30}") long ttlMinutos) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = Duration.ofMinutes(ttlMinutos);
+        log.info("Sesiones en Redis con TTL de {} minutos", ttlMinutos);
+    }
+
+    @Override
+    public Sesion guardar(Sesion sesion) {
+        boolean esNueva = sesion.getId() == null;
+        Long id = esNueva ? redisTemplate.opsForValue().increment(CLAVE_SECUENCIA) : sesion.getId();
+
+        Sesion guardada = new Sesion(
+                id,
+                sesion.getUsuarioId(),
+                sesion.getEventoId(),
+                sesion.getEstado(),
+                sesion.getAsientosSeleccionados(),
+                sesion.getCreadoEn(),
+                sesion.getUltimaActividad(),
+                sesion.getVersion(),
+                sesion.getSnapshotEvento()
+        );
+
+        List<String> argumentos = new ArrayList<>();
+        argumentos.add(String.valueOf(ttl.toMillis()));
+        argumentos.add(esNueva ? "" : String.valueOf(id));
+        argumentos.add(String.valueOf(guardada.getVersion()));
+        agregarCampos(guardada, argumentos);
+
+        Long resultado = redisTemplate.execute(GUARDAR,
+                List.of(claveUsuario(guardada.getUsuarioId())), argumentos.toArray());
+
+        if (resultado == null || resultado < 0) {
+            throw new ConflictoSesionException("La sesion " + id + " fue modificada o ya no esta activa");
+        }
+        // El puntero queda en otro slot: se renueva aparte, con el mismo TTL que el hash
+        redisTemplate.opsForValue().set(PREFIJO_ID + id, String.valueOf(guardada.getUsuarioId()), ttl);
+        guardada.setVersion(resultado);
+        return guardada;
+    }
+
+    @Override
+    public Optional<Sesion> buscarPorId(Long id) {
+        String usuarioId = redisTemplate.opsForValue().get(PREFIJO_ID + id);
+        if (usuarioId == null) {
+            return Optional.empty();
+        }
+
+        return buscarPorUsuarioId(Long.valueOf(usuarioId))
+                .filter(sesion -> sesion.getId().equals(id));
+    }
+
+    @Override
+    public Optional<Sesion> buscarPorUsuarioId(Long usuarioId) {
+        Map<Object, Object> hash = redisTemplate.opsForHash().entries(claveUsuario(usuarioId));
+        if (hash.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(toDomain(hash));
+    }
+
+    @Override
+    public void eliminarPorId(Long id) {
+        // El hash del usuario se resuelve por el puntero; el script solo lo borra
+        // si sigue siendo esta sesión y no otra creada después
+        String usuarioId = redisTemplate.opsForValue().get(PREFIJO_ID + id);
+        if (usuarioId == null) {
+            return;
+        }
+        redisTemplate.execute(ELIMINAR, List.of(claveUsuario(Long.valueOf(usuarioId))), String.valueOf(id));
+        redisTemplate.delete(PREFIJO_ID + id);
+    }
+
+    @Override
+    public int eliminarSesionesExpiradas() {
+        // Redis elimina las sesiones vencidas por TTL
+        return 0;
+    }
+
+    private static String claveUsuario(Long usuarioId) {
+        return PREFIJO_USUARIO + "{" + usuarioId + "}";
+    }
+
+    // === Métodos de conversión ===
+
+    private void agregarCampos(Sesion sesion, List<String> argumentos) {
+        agregar(argumentos, "id", sesion.getId());
+        agregar(argumentos, "usuarioId", sesion.getUsuarioId());
+        agregar(argumentos, "eventoId", sesion.getEventoId());
+        agregar(argumentos, "estado", sesion.getEstado() != null ? sesion.getEstado().name() : null);
+        agregar(argumentos, "creadoEn", sesion.getCreadoEn() != null ? sesion.getCreadoEn().toEpochMilli() : null);
+        agregar(argumentos, "ultimaActividad",
+                sesion.getUltimaActividad() != null ? sesion.getUltimaActividad().toEpochMilli() : null);
+
+        SnapshotEvento snapshot = sesion.getSnapshotEvento();
+        if (snapshot != null) {
+            agregar(argumentos, "eventoFilas", snapshot.filas());
+            agregar(argumentos, "eventoColumnas", snapshot.columnas());
+            agregar(argumentos, "eventoPrecio", snapshot.precioEntrada());
+            agregar(argumentos, "eventoVersion", snapshot.versionEvento());
+        }
+
+        if (sesion.getAsientosSeleccionados() != null) {
+            StringBuilder asientos = new StringBuilder();
+            for (Asiento asiento : sesion.getAsientosSeleccionados()) {
+                if (!asientos.isEmpty()) {
+                    asientos.append(',');
+                }
+                String posicion = asiento.getFila() + ":" + asiento.getColumna();
+                asientos.append(posicion);
+                agregar(argumentos, PREFIJO_PERSONA + posicion, asiento.getPersona());
+            }
+            agregar(argumentos, "asientos", asientos.toString());
+        }
+    }
+
+    private void agregar(List<String> argumentos, String campo, Object valor) {
+        if (valor != null) {
+            argumentos.add(campo);
+            argumentos.add(valor.toString());
+        }
+    }
+
+    private Sesion toDomain(Map<Object, Object> hash) {
+        Sesion sesion = new Sesion();
+        sesion.setId(leerLong(hash, "id"));
+        sesion.setUsuarioId(leerLong(hash, "usuarioId"));
+        sesion.setEventoId(leerLong(hash, "eventoId"));
+        sesion.setVersion(leerLong(hash, "version"));
+
+        Object estado = hash.get("estado");
+        if (estado != null) {
+            sesion.setEstado(SesionEstado.valueOf(estado.toString()));
+        }
+
+        Long creadoEn = leerLong(hash, "creadoEn");
+        if (creadoEn != null) {
+            sesion.setCreadoEn(Instant.ofEpochMilli(creadoEn));
+        }
+        Long ultimaActividad = leerLong(hash, "ultimaActividad");
+        if (ultimaActividad != null) {
+            sesion.setUltimaActividad(Instant.ofEpochMilli(ultimaActividad));
+        }
+
+        Long filas = leerLong(hash, "eventoFilas");
+        Long columnas = leerLong(hash, "eventoColumnas");
+        Long versionEvento = leerLong(hash, "eventoVersion");
+        if (filas != null && columnas != null && versionEvento != null) {
+            Object precio = hash.get("eventoPrecio");
+            sesion.setSnapshotEvento(new SnapshotEvento(
+                    sesion.getEventoId(),
+                    filas.intValue(),
+                    columnas.intValue(),
+                    precio != null ? new BigDecimal(precio.toString()) : null,
+                    versionEvento
+            ));
+        }
+
+        List<Asiento> asientos = new ArrayList<>();
+        Object valor = hash.get("asientos");
+        if (valor != null && !valor.toString().isEmpty()) {
+            for (String posicion : valor.toString().split(",")) {
+                String[] partes = posicion.split(":");
+                Asiento asiento = new Asiento();
+                asiento.setFila(Integer.valueOf(partes[0]));
+                asiento.setColumna(Integer.valueOf(partes[1]));
+                Object persona = hash.get(PREFIJO_PERSONA + posicion);
+                asiento.setPersona(persona != null ? persona.toString() : null);
+                asientos.add(asiento);
+            }
+        }
+        sesion.setAsientosSeleccionados(asientos);
+
+        return sesion;
+    }
+
+    private Long leerLong(Map<Object, Object> hash, String campo) {
+        Object valor = hash.get(campo);
+        return valor != null ? Long.valueOf(valor.toString()) : null;
+    }
+}
\ No newline at end of file
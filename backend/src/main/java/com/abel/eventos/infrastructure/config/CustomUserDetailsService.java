@@ -1,34 +1,96 @@
 package com.abel.eventos.infrastructure.config;
 
+import com.abel.eventos.application.port.out.UsuarioCachePort;
 import com.abel.eventos.infrastructure.adapter.out.persistence.entity.UsuarioEntity;
 import com.abel.eventos.infrastructure.adapter.out.persistence.repository.UsuarioJpaRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import jakarta.annotation.Nonnull;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
 
+/**
+ * Carga los usuarios para Spring Security con una cache acotada y con TTL.
+ * <p>
+ * Se cachean solo los datos del usuario y se arma un UserDetails nuevo en cada
+ * llamada, porque el AuthenticationManager borra la contraseña del objeto que
+ * devuelve tras autenticar. Las entradas las invalida el servicio de aplicación
+ * que modifica al usuario, a través de {@link UsuarioCachePort}.
+ */
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+@Slf4j
+public class CustomUserDetailsService implements UserDetailsService, UsuarioCachePort {
 
     private final UsuarioJpaRepository usuarioJpaRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${seguridad.usuarios.cache.ttl-segundos:60}")
+    private long ttlSegundos;
+
+    @Value("${seguridad.usuarios.cache.max-usuarios:10000}")
+    private long maxUsuarios;
+
+    private Cache<String, DatosUsuario> usuarios;
+
+    @PostConstruct
+    void inicializar() {
+        usuarios = Caffeine.newBuilder()
+                .maximumSize(maxUsuarios)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usuarios, "usuarios.detalles");
+    }
 
     @Override
     @Nonnull
     public UserDetails loadUserByUsername(@Nonnull String username) throws UsernameNotFoundException {
-        UsuarioEntity usuario = usuarioJpaRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("Usuario no encontrado: " + username));
+        DatosUsuario datos = usuarios.get(username, this::buscarUsuario);
+        if (datos == null) {
+            // No se cachean los usuarios inexistentes: pueden registrarse en cualquier momento
+            throw new UsernameNotFoundException("Usuario no encontrado: " + username);
+        }
 
-        return new User(
-                usuario.getUsername(),
-                usuario.getPassword(),
+        return new UsuarioAutenticado(
+                datos.id(),
+                datos.username(),
+                datos.password(),
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
         );
     }
+
+    /**
+     * Descarta el usuario de la cache. Se llama cuando cambian sus datos.
+     */
+    @Override
+    public void invalidar(String username) {
+        usuarios.invalidate(username);
+        log.debug("Usuario {} invalidado de la cache", username);
+    }
+
+    private DatosUsuario buscarUsuario(String username) {
+        return usuarioJpaRepository.findByUsername(username)
+                .map(this::toDatos)
+                .orElse(null);
+    }
+
+    private DatosUsuario toDatos(UsuarioEntity usuario) {
+        return new DatosUsuario(usuario.getId(), usuario.getUsername(), usuario.getPassword());
+    }
+
+    private record DatosUsuario(Long id, String username, String password) {
+    }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.abel.eventos.infrastructure.config;
 
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -44,13 +45,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
 
         try {
-            username = jwtService.extraerUsername(jwt);
+            // Se verifica la firma una sola vez y se trabaja con los claims
+            Claims claims = jwtService.verificar(jwt);
+            username = claims.getSubject();
 
             // Si tenemos username y no hay autenticación previa
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
 
-                if (jwtService.esTokenValido(jwt, userDetails.getUsername())) {
+                if (jwtService.esTokenValido(claims, userDetails.getUsername())
+                        && coincideUsuarioId(claims, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -67,4 +71,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Un token con un ID distinto al del usuario actual es de un usuario
+     * borrado y vuelto a crear con el mismo username.
+     */
+    private boolean coincideUsuarioId(Claims claims, UserDetails userDetails) {
+        Long usuarioId = jwtService.extraerUsuarioId(claims);
+        return usuarioId == null
+                || !(userDetails instanceof UsuarioAutenticado usuario)
+                || usuarioId.equals(usuario.getId());
+    }
 }
\ No newline at end of file
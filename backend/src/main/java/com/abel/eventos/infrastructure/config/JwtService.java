@@ -1,32 +1,95 @@
 package com.abel.eventos.infrastructure.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.Nonnull;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
+/**
+ * Emisión y verificación de tokens JWT.
+ * <p>
+ * La clave y el parser se crean una sola vez. Los claims de cada token ya
+ * verificado se guardan (por el SHA-256 del token) hasta que el token expira,
+ * así un mismo token se verifica con HMAC una sola vez.
+ */
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    public static final String CLAIM_USUARIO_ID = "usuarioId";
+
+    private final MeterRegistry meterRegistry;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long expiration;
 
+    @Value("${jwt.cache.max-tokens:10000}")
+    private long maxTokensCacheados;
+
+    private SecretKey signingKey;
+    private JwtParser parser;
+    private Cache<String, Claims> tokensVerificados;
+
+    @PostConstruct
+    void inicializar() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .build();
+
+        tokensVerificados = Caffeine.newBuilder()
+                .maximumSize(maxTokensCacheados)
+                .expireAfter(new ExpiraConElToken())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokensVerificados, "jwt.tokens");
+    }
+
     public String generarToken(String username) {
         Map<String, Object> claims = new HashMap<>();
         return crearToken(claims, username);
     }
 
+    public String generarToken(String username, Long usuarioId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USUARIO_ID, usuarioId);
+        return crearToken(claims, username);
+    }
+
+    /**
+     * Token para el resultado de authenticate(): el principal ya trae el ID,
+     * así no hace falta buscarlo en la BD.
+     */
+    public String generarToken(Authentication authentication) {
+        UsuarioAutenticado usuario = (UsuarioAutenticado) authentication.getPrincipal();
+        return generarToken(usuario.getUsername(), usuario.getId());
+    }
+
     public String generarToken(String username, Map<String, Object> extraClaims) {
         return crearToken(extraClaims, username);
     }
@@ -37,42 +100,101 @@ public class JwtService {
                 .subject(subject)
                 .issuedAt(new Date(System.currentTimeMillis()))
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
+    /**
+     * Verifica el token y devuelve sus claims. Si ya fue verificado y no expiró,
+     * los devuelve desde la cache sin volver a calcular la firma.
+     *
+     * @throws io.jsonwebtoken.JwtException si el token es inválido o expiró
+     */
+    public Claims verificar(String token) {
+        String clave = digerir(token);
+
+        Claims claims = tokensVerificados.getIfPresent(clave);
+        if (claims == null) {
+            claims = parser.parseSignedClaims(token).getPayload();
+            tokensVerificados.put(clave, claims);
+        }
+        return claims;
+    }
+
     public String extraerUsername(String token) {
         return extraerClaim(token, Claims::getSubject);
     }
 
+    /**
+     * Devuelve el ID de usuario del token, o null si es un token anterior que no lo incluye.
+     */
+    public Long extraerUsuarioId(String token) {
+        return extraerUsuarioId(verificar(token));
+    }
+
+    public Long extraerUsuarioId(Claims claims) {
+        return claims.get(CLAIM_USUARIO_ID, Long.class);
+    }
+
     public Date extraerExpiracion(String token) {
         return extraerClaim(token, Claims::getExpiration);
     }
 
     public <T> T extraerClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extraerTodosClaims(token);
+        final Claims claims = verificar(token);
         return claimsResolver.apply(claims);
     }
 
-    private Claims extraerTodosClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public boolean esTokenValido(String token, String username) {
+        return esTokenValido(verificar(token), username);
     }
 
-    public boolean esTokenValido(String token, String username) {
-        final String usernameExtraido = extraerUsername(token);
-        return (usernameExtraido.equals(username) && !esTokenExpirado(token));
+    public boolean esTokenValido(Claims claims, String username) {
+        return username.equals(claims.getSubject()) && !esTokenExpirado(claims);
     }
 
     public boolean esTokenExpirado(String token) {
-        return extraerExpiracion(token).before(new Date());
+        return esTokenExpirado(verificar(token));
     }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = secret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private boolean esTokenExpirado(Claims claims) {
+        return claims.getExpiration().before(new Date());
+    }
+
+    private String digerir(String token) {
+        try {
+            // MessageDigest no es thread-safe: se crea uno por llamada
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Cada entrada vive hasta el vencimiento de su token.
+     */
+    private static class ExpiraConElToken implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(@Nonnull String clave, @Nonnull Claims claims, long ahora) {
+            Date vencimiento = claims.getExpiration();
+            if (vencimiento == null) {
+                return 0;
+            }
+            long restanteMs = vencimiento.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(restanteMs, 0));
+        }
+
+        @Override
+        public long expireAfterUpdate(@Nonnull String clave, @Nonnull Claims claims, long ahora, long duracionActual) {
+            return duracionActual;
+        }
+
+        @Override
+        public long expireAfterRead(@Nonnull String clave, @Nonnull Claims claims, long ahora, long duracionActual) {
+            return duracionActual;
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.abel.eventos.infrastructure.config;
+
+import com.abel.eventos.domain.exception.ServicioSaturadoException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PasswordEncoder que ejecuta el hash (BCrypt) en un pool propio y acotado.
+ * <p>
+ * Así una ola de logins no ocupa todos los hilos del servidor: como mucho hay
+ * {@code hilos} hashes en curso y {@code cola} esperando. Si la cola está llena
+ * o la espera supera {@code esperaMs}, se lanza {@link ServicioSaturadoException}.
+ * Las métricas del pool se publican como {@code executor.*} con {@code name=bcrypt}.
+ */
+@Slf4j
+public class PasswordEncoderAcotado implements PasswordEncoder {
+
+    private final PasswordEncoder delegado;
+    private final ThreadPoolExecutor ejecutor;
+    private final long esperaMs;
+    private final Counter rechazos;
+
+    public PasswordEncoderAcotado(PasswordEncoder delegado, int hilos, int cola, long esperaMs,
+                                  MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.esperaMs = esperaMs;
+
+        AtomicInteger contador = new AtomicInteger();
+        this.ejecutor = new ThreadPoolExecutor(
+                hilos, hilos,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(cola),
+                r -> {
+                    Thread hilo = new Thread(r, "bcrypt-" + contador.incrementAndGet());
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        ExecutorServiceMetrics.monitor(meterRegistry, ejecutor, "bcrypt");
+        this.rechazos = meterRegistry.counter("auth.bcrypt.rechazos");
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return ejecutar(() -> delegado.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return ejecutar(() -> delegado.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegado.upgradeEncoding(encodedPassword);
+    }
+
+    public void cerrar() {
+        ejecutor.shutdownNow();
+    }
+
+    private <T> T ejecutar(Callable<T> tarea) {
+        Future<T> futuro;
+        try {
+            futuro = ejecutor.submit(tarea);
+        } catch (RejectedExecutionException e) {
+            rechazos.increment();
+            log.warn("Pool de BCrypt saturado ({} en cola), se rechaza la operacion", ejecutor.getQueue().size());
+            throw new ServicioSaturadoException("Servicio saturado, intente nuevamente en unos segundos", e);
+        }
+
+        try {
+            return futuro.get(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            futuro.cancel(true);
+            rechazos.increment();
+            throw new ServicioSaturadoException("Servicio saturado, intente nuevamente en unos segundos", e);
+        } catch (InterruptedException e) {
+            futuro.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServicioSaturadoException("Operacion interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Error calculando el hash de la contraseña", e.getCause());
+        }
+    }
+}
\ No newline at end of file
@@ -1,19 +1,44 @@
 package com.abel.eventos.infrastructure.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
 import jakarta.annotation.Nonnull;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.client.ClientHttpRequestExecution;
 import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.ClientHttpResponse;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
 import java.util.Collections;
 
+/**
+ * RestTemplates para las llamadas salientes.
+ * <p>
+ * Cátedra y el Proxy tienen cada uno su propio pool de conexiones keep-alive,
+ * configurado con las propiedades {@code catedra.http.*} y {@code proxy.http.*}.
+ * Las métricas de cada pool se publican como {@code httpcomponents.httpclient.pool.*}
+ * con el tag {@code httpclient}.
+ * <p>
+ * Para las variantes asíncronas de los puertos hay además un {@link HttpClient}
+ * del JDK por destino, que no ocupa un hilo mientras espera la respuesta.
+ */
 @Configuration
 public class RestTemplateConfig {
 
@@ -21,17 +46,86 @@ public class RestTemplateConfig {
     private String catedraToken;
 
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(10000);
-        factory.setReadTimeout(30000);
-
-        RestTemplate restTemplate = new RestTemplate(factory);
+    public RestTemplate catedraRestTemplate(Environment env, MeterRegistry meterRegistry) {
+        RestTemplate restTemplate = new RestTemplate(crearFactory("catedra", env, meterRegistry));
         restTemplate.setInterceptors(Collections.singletonList(new JwtInterceptor()));
 
         return restTemplate;
     }
 
+    @Bean
+    public RestTemplate proxyRestTemplate(Environment env, MeterRegistry meterRegistry) {
+        // El Proxy no necesita el token de Cátedra
+        return new RestTemplate(crearFactory("proxy", env, meterRegistry));
+    }
+
+    @Bean
+    public HttpClient catedraHttpClient(Environment env) {
+        return crearHttpClient("catedra", env);
+    }
+
+    @Bean
+    public HttpClient proxyHttpClient(Environment env) {
+        return crearHttpClient("proxy", env);
+    }
+
+    private HttpClient crearHttpClient(String destino, Environment env) {
+        long connectTimeout = env.getProperty(destino + ".http.connect-timeout-ms", Long.class, 10000L);
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(connectTimeout))
+                .build();
+    }
+
+    /**
+     * Crea un factory sobre un pool propio, leyendo la configuración de {@code <destino>.http.*}.
+     */
+    private HttpComponentsClientHttpRequestFactory crearFactory(
+            String destino, Environment env, MeterRegistry meterRegistry) {
+
+        String prefijo = destino + ".http.";
+        int maxConexiones = env.getProperty(prefijo + "max-conexiones", Integer.class, 50);
+        int maxConexionesPorRuta = env.getProperty(prefijo + "max-conexiones-por-ruta", Integer.class, 50);
+        long connectTimeout = env.getProperty(prefijo + "connect-timeout-ms", Long.class, 10000L);
+        long readTimeout = env.getProperty(prefijo + "read-timeout-ms", Long.class, 30000L);
+        long esperaPool = env.getProperty(prefijo + "espera-pool-ms", Long.class, 2000L);
+        long keepAlive = env.getProperty(prefijo + "keep-alive-ms", Long.class, 30000L);
+        long inactividad = env.getProperty(prefijo + "inactividad-ms", Long.class, 60000L);
+
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConexiones)
+                .setMaxConnPerRoute(maxConexionesPorRuta)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .build())
+                .build();
+
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        // Si el pool está agotado, fallar rápido en lugar de encolar
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(esperaPool))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout))
+                        .build())
+                .setKeepAliveStrategy((response, context) -> {
+                    // Respetar el Keep-Alive del servidor, pero nunca más que lo configurado
+                    TimeValue servidor = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return TimeValue.isPositive(servidor) && servidor.toMilliseconds() < keepAlive
+                            ? servidor
+                            : TimeValue.ofMilliseconds(keepAlive);
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(inactividad))
+                .build();
+
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, destino)
+                .bindTo(meterRegistry);
+
+        return new HttpComponentsClientHttpRequestFactory(httpClient);
+    }
+
     private class JwtInterceptor implements ClientHttpRequestInterceptor {
         @Override
         @Nonnull
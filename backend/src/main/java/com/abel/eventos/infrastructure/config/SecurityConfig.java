@@ -1,6 +1,8 @@
 package com.abel.eventos.infrastructure.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,6 +24,16 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
     private final CustomUserDetailsService customUserDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${seguridad.bcrypt.hilos:0}")
+    private int hilosBcrypt;
+
+    @Value("${seguridad.bcrypt.cola:64}")
+    private int colaBcrypt;
+
+    @Value("${seguridad.bcrypt.espera-ms:5000}")
+    private long esperaBcryptMs;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) {
@@ -58,8 +70,10 @@ public class SecurityConfig {
         return new ProviderManager(authenticationProvider());
     }
 
-    @Bean
+    @Bean(destroyMethod = "cerrar")
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // Sin valor configurado, un hilo por núcleo: BCrypt es puro CPU
+        int hilos = hilosBcrypt > 0 ? hilosBcrypt : Runtime.getRuntime().availableProcessors();
+        return new PasswordEncoderAcotado(new BCryptPasswordEncoder(), hilos, colaBcrypt, esperaBcryptMs, meterRegistry);
     }
 }
\ No newline at end of file
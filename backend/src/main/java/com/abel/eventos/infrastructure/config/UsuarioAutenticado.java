@@ -0,0 +1,25 @@
+package com.abel.eventos.infrastructure.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collection;
+
+/**
+ * Usuario autenticado que además lleva su ID.
+ * Los controllers lo reciben con @AuthenticationPrincipal sin volver a consultar la BD.
+ */
+public class UsuarioAutenticado extends User {
+
+    private final Long id;
+
+    public UsuarioAutenticado(Long id, String username, String password,
+                              Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.id = id;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
\ No newline at end of file
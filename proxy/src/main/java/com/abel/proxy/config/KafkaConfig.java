@@ -5,6 +5,7 @@ import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.kafka.annotation.EnableKafka;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.ConsumerFactory;
@@ -24,6 +25,9 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id}")
     private String groupId;
 
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean hilosVirtuales;
+
     @Bean
     public ConsumerFactory<String, String> consumerFactory() {
         Map<String, Object> props = new HashMap<>();
@@ -43,6 +47,14 @@ public class KafkaConfig {
         factory.setConsumerFactory(consumerFactory());
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.RECORD);
 
+        // El factory propio no pasa por la autoconfiguracion de Boot, así que
+        // el modo de hilos virtuales se aplica acá (incluye la notificación al Backend)
+        if (hilosVirtuales) {
+            SimpleAsyncTaskExecutor ejecutor = new SimpleAsyncTaskExecutor("kafka-listener-");
+            ejecutor.setVirtualThreads(true);
+            factory.getContainerProperties().setListenerTaskExecutor(ejecutor);
+        }
+
         return factory;
     }
 }
\ No newline at end of file
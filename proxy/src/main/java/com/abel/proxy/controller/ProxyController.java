@@ -2,6 +2,7 @@ package com.abel.proxy.controller;
 
 import com.abel.proxy.dto.EventoAsientosDTO;
 import com.abel.proxy.dto.VerificacionRequest;
+import com.abel.proxy.dto.VerificacionResponse;
 import com.abel.proxy.service.RedisService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,20 +42,14 @@ public class ProxyController {
      * Body: {"asientos": [{"fila": 1, "columna": 2}, ...]}
      */
     @PostMapping("/eventos/{eventoId}/verificar")
-    public ResponseEntity<Map<String, Object>> verificarDisponibilidad(
+    public ResponseEntity<VerificacionResponse> verificarDisponibilidad(
             @PathVariable Long eventoId,
             @RequestBody VerificacionRequest request) {
 
         log.info("Verificando disponibilidad de {} asientos para evento {}",
                 request.getAsientos().size(), eventoId);
 
-        boolean disponible = redisService.verificarDisponibilidad(eventoId, request.getAsientos());
-
-        Map<String, Object> response = Map.of(
-                "eventoId", eventoId,
-                "disponible", disponible,
-                "asientosConsultados", request.getAsientos().size()
-        );
+        VerificacionResponse response = redisService.verificarDisponibilidad(eventoId, request.getAsientos());
 
         return ResponseEntity.ok(response);
     }
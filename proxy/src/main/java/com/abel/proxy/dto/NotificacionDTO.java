@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -14,11 +15,13 @@ public class NotificacionDTO {
     private String tipo;           // Tipo de notificación (ej: "EVENTO_ACTUALIZADO")
     private String mensaje;        // Mensaje original de Kafka
     private LocalDateTime timestamp;
+    private List<Long> eventosIds;  // Eventos afectados; null si el mensaje no pudo interpretarse
 
     // Constructor conveniente
-    public NotificacionDTO(String tipo, String mensaje) {
+    public NotificacionDTO(String tipo, String mensaje, List<Long> eventosIds) {
         this.tipo = tipo;
         this.mensaje = mensaje;
         this.timestamp = LocalDateTime.now();
+        this.eventosIds = eventosIds;
     }
 }
\ No newline at end of file
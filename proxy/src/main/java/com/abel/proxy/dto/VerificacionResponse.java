@@ -0,0 +1,18 @@
+package com.abel.proxy.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VerificacionResponse {
+
+    private Long eventoId;
+    private Boolean disponible;
+    private Integer asientosConsultados;
+    private List<AsientoDTO> asientosNoDisponibles;   // Asientos ocupados que coinciden con los pedidos
+}
\ No newline at end of file
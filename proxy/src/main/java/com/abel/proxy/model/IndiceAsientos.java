@@ -0,0 +1,93 @@
+package com.abel.proxy.model;
+
+/**
+ * Conjunto de asientos indexado por clave primitiva (fila, columna).
+ * <p>
+ * Cada asiento se empaqueta en un long ({@code fila << 32 | columna}) y se guarda
+ * en una tabla de direccionamiento abierto, junto con su posición en la
+ * {@link OcupacionAsientos} de origen. Las consultas son O(1) y no crean objetos.
+ */
+public final class IndiceAsientos {
+
+    private static final long VACIO = 0L;
+    private static final int NO_ENCONTRADO = -1;
+
+    private final long[] claves;
+    private final int[] posiciones;
+    private final int mascara;
+
+    // La clave 0 (fila 0, columna 0) coincide con VACIO, se guarda aparte
+    private int posicionCero = NO_ENCONTRADO;
+
+    private IndiceAsientos(int capacidadEsperada) {
+        int capacidad = Integer.highestOneBit(Math.max(4, capacidadEsperada * 2 - 1)) << 1;
+        this.claves = new long[capacidad];
+        this.posiciones = new int[capacidad];
+        this.mascara = capacidad - 1;
+    }
+
+    /**
+     * Construye el índice en una sola pasada. Asientos sin fila o columna se ignoran.
+     */
+    public static IndiceAsientos desde(OcupacionAsientos ocupacion) {
+        IndiceAsientos indice = new IndiceAsientos(ocupacion.getCantidad());
+        for (int i = 0; i < ocupacion.getCantidad(); i++) {
+            int fila = ocupacion.fila(i);
+            int columna = ocupacion.columna(i);
+            if (fila != OcupacionAsientos.SIN_VALOR && columna != OcupacionAsientos.SIN_VALOR) {
+                indice.agregar(clave(fila, columna), i);
+            }
+        }
+        return indice;
+    }
+
+    /**
+     * Devuelve la posición del asiento en la lista original, o -1 si no está.
+     */
+    public int buscar(int fila, int columna) {
+        long clave = clave(fila, columna);
+        if (clave == VACIO) {
+            return posicionCero;
+        }
+
+        int slot = slot(clave);
+        while (claves[slot] != VACIO) {
+            if (claves[slot] == clave) {
+                return posiciones[slot];
+            }
+            slot = (slot + 1) & mascara;
+        }
+        return NO_ENCONTRADO;
+    }
+
+    public boolean contiene(int fila, int columna) {
+        return buscar(fila, columna) != NO_ENCONTRADO;
+    }
+
+    private void agregar(long clave, int posicion) {
+        if (clave == VACIO) {
+            posicionCero = posicion;
+            return;
+        }
+
+        int slot = slot(clave);
+        while (claves[slot] != VACIO && claves[slot] != clave) {
+            slot = (slot + 1) & mascara;
+        }
+        claves[slot] = clave;
+        posiciones[slot] = posicion;
+    }
+
+    private int slot(long clave) {
+        // Mezcla de bits (fmix64 de MurmurHash3) para repartir filas/columnas contiguas
+        long h = clave;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mascara;
+    }
+
+    private static long clave(int fila, int columna) {
+        return ((long) fila << 32) | (columna & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,117 @@
+package com.abel.proxy.model;
+
+import com.abel.proxy.dto.AsientoDTO;
+import com.abel.proxy.dto.EventoAsientosDTO;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Asientos ocupados de un evento en arreglos primitivos paralelos.
+ * <p>
+ * La posición {@code i} describe un asiento: fila, columna, código de estado y
+ * expiración en epoch millis. Las expiraciones que llegaron sin zona se
+ * marcan para devolverlas igual, sin zona. Es el formato que produce {@code DecodificadorAsientos}
+ * a partir del JSON de Redis, sin DTOs intermedios.
+ */
+public final class OcupacionAsientos {
+
+    public static final int SIN_VALOR = Integer.MIN_VALUE;
+    public static final long SIN_EXPIRACION = Long.MIN_VALUE;
+
+    public static final byte ESTADO_DESCONOCIDO = 0;
+    public static final byte ESTADO_BLOQUEADO = 1;
+    public static final byte ESTADO_VENDIDO = 2;
+
+    private final Long eventoId;
+    private final int cantidad;
+    private final int[] filas;
+    private final int[] columnas;
+    private final byte[] estados;
+    private final long[] expiraciones;
+    private final boolean[] expiracionesSinZona;
+
+    public OcupacionAsientos(Long eventoId, int cantidad, int[] filas, int[] columnas,
+                             byte[] estados, long[] expiraciones, boolean[] expiracionesSinZona) {
+        this.eventoId = eventoId;
+        this.cantidad = cantidad;
+        this.filas = filas;
+        this.columnas = columnas;
+        this.estados = estados;
+        this.expiraciones = expiraciones;
+        this.expiracionesSinZona = expiracionesSinZona;
+    }
+
+    public static OcupacionAsientos vacia(Long eventoId) {
+        return new OcupacionAsientos(eventoId, 0, new int[0], new int[0], new byte[0], new long[0], new boolean[0]);
+    }
+
+    public Long getEventoId() {
+        return eventoId;
+    }
+
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public int fila(int i) {
+        return filas[i];
+    }
+
+    public int columna(int i) {
+        return columnas[i];
+    }
+
+    public byte estado(int i) {
+        return estados[i];
+    }
+
+    public long expira(int i) {
+        return expiraciones[i];
+    }
+
+    /**
+     * Construye el DTO del asiento en la posición indicada.
+     */
+    public AsientoDTO toAsientoDTO(int i) {
+        return new AsientoDTO(
+                filas[i] == SIN_VALOR ? null : filas[i],
+                columnas[i] == SIN_VALOR ? null : columnas[i],
+                nombreEstado(estados[i]),
+                formatearExpiracion(i)
+        );
+    }
+
+    /**
+     * Construye el DTO completo, tal como lo expone el endpoint de asientos.
+     */
+    public EventoAsientosDTO toDTO() {
+        List<AsientoDTO> asientos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            asientos.add(toAsientoDTO(i));
+        }
+        return new EventoAsientosDTO(eventoId, asientos);
+    }
+
+    private String formatearExpiracion(int i) {
+        if (expiraciones[i] == SIN_EXPIRACION) {
+            return null;
+        }
+        Instant expira = Instant.ofEpochMilli(expiraciones[i]);
+        return expiracionesSinZona[i]
+                ? DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(LocalDateTime.ofInstant(expira, ZoneOffset.UTC))
+                : expira.toString();
+    }
+
+    private static String nombreEstado(byte estado) {
+        return switch (estado) {
+            case ESTADO_BLOQUEADO -> "Bloqueado";
+            case ESTADO_VENDIDO -> "Vendido";
+            default -> null;
+        };
+    }
+}
\ No newline at end of file
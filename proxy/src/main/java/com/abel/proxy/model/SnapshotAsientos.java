@@ -0,0 +1,69 @@
+package com.abel.proxy.model;
+
+import com.abel.proxy.dto.AsientoDTO;
+import com.abel.proxy.dto.EventoAsientosDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Estado de los asientos ocupados de un evento tal como está en Redis en un momento dado.
+ * El índice para verificar disponibilidad y el DTO de respuesta se construyen
+ * una sola vez por snapshot.
+ */
+public final class SnapshotAsientos {
+
+    private final OcupacionAsientos ocupacion;
+    private volatile IndiceAsientos indice;
+    private volatile EventoAsientosDTO asientos;
+
+    public SnapshotAsientos(OcupacionAsientos ocupacion) {
+        this.ocupacion = ocupacion;
+    }
+
+    public OcupacionAsientos getOcupacion() {
+        return ocupacion;
+    }
+
+    public EventoAsientosDTO getAsientos() {
+        EventoAsientosDTO actual = asientos;
+        if (actual == null) {
+            actual = ocupacion.toDTO();
+            asientos = actual;
+        }
+        return actual;
+    }
+
+    /**
+     * Devuelve los asientos ocupados que coinciden con los solicitados.
+     * Una lista vacía significa que todos están disponibles.
+     */
+    public List<AsientoDTO> buscarConflictos(List<AsientoDTO> solicitados) {
+        IndiceAsientos idx = getIndice();
+        List<AsientoDTO> conflictos = new ArrayList<>();
+
+        for (AsientoDTO solicitado : solicitados) {
+            if (solicitado.getFila() == null || solicitado.getColumna() == null) {
+                // Un asiento incompleto nunca puede reservarse
+                conflictos.add(solicitado);
+                continue;
+            }
+
+            int posicion = idx.buscar(solicitado.getFila(), solicitado.getColumna());
+            if (posicion >= 0) {
+                conflictos.add(ocupacion.toAsientoDTO(posicion));
+            }
+        }
+        return conflictos;
+    }
+
+    private IndiceAsientos getIndice() {
+        IndiceAsientos actual = indice;
+        if (actual == null) {
+            // Si dos hilos lo construyen a la vez el resultado es el mismo
+            actual = IndiceAsientos.desde(ocupacion);
+            indice = actual;
+        }
+        return actual;
+    }
+}
\ No newline at end of file
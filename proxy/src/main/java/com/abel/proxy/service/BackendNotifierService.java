@@ -11,6 +11,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -23,8 +25,9 @@ public class BackendNotifierService {
 
     /**
      * Notifica al Backend que hubo un cambio en los eventos.
+     * Si se conocen los eventos afectados, el Backend sincroniza solo esos.
      */
-    public void notificarCambio(String mensajeKafka) {
+    public void notificarCambio(String mensajeKafka, List<Long> eventosIds) {
         String url = backendUrl + "/api/internal/sync";
 
         log.info("Notificando al Backend: {}", url);
@@ -32,7 +35,8 @@ public class BackendNotifierService {
         try {
             NotificacionDTO notificacion = new NotificacionDTO(
                     "EVENTO_ACTUALIZADO",
-                    mensajeKafka
+                    mensajeKafka,
+                    eventosIds
             );
 
             HttpHeaders headers = new HttpHeaders();
@@ -0,0 +1,198 @@
+package com.abel.proxy.service;
+
+import com.abel.proxy.model.OcupacionAsientos;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+
+/**
+ * Decodifica el JSON {@code evento_{id}} de Redis token por token.
+ * <p>
+ * Formato esperado:
+ * {"eventoId": 1, "asientos": [{"fila": 1, "columna": 2, "estado": "Bloqueado", "expira": "..."}]}
+ * <p>
+ * Los valores van directo a arreglos primitivos; no se crean DTOs ni Strings
+ * para los estados. Los campos desconocidos se ignoran.
+ */
+@Component
+public class DecodificadorAsientos {
+
+    private static final int CAPACIDAD_INICIAL = 64;
+    private static final char[] BLOQUEADO = "bloqueado".toCharArray();
+    private static final char[] VENDIDO = "vendido".toCharArray();
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    public OcupacionAsientos decodificar(String json) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Se esperaba un objeto JSON");
+            }
+
+            Long eventoId = null;
+            Arreglos arreglos = new Arreglos();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+
+                if ("eventoId".equals(campo) && valor == JsonToken.VALUE_NUMBER_INT) {
+                    eventoId = parser.getLongValue();
+                } else if ("asientos".equals(campo) && valor == JsonToken.START_ARRAY) {
+                    leerAsientos(parser, arreglos);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return arreglos.construir(eventoId);
+        }
+    }
+
+    private void leerAsientos(JsonParser parser, Arreglos arreglos) throws IOException {
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                continue;
+            }
+
+            int fila = OcupacionAsientos.SIN_VALOR;
+            int columna = OcupacionAsientos.SIN_VALOR;
+            byte estado = OcupacionAsientos.ESTADO_DESCONOCIDO;
+            long expira = OcupacionAsientos.SIN_EXPIRACION;
+            boolean expiraSinZona = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                JsonToken valor = parser.nextToken();
+
+                switch (campo) {
+                    case "fila" -> fila = valor == JsonToken.VALUE_NUMBER_INT
+                            ? parser.getIntValue() : OcupacionAsientos.SIN_VALOR;
+                    case "columna" -> columna = valor == JsonToken.VALUE_NUMBER_INT
+                            ? parser.getIntValue() : OcupacionAsientos.SIN_VALOR;
+                    case "estado" -> estado = valor == JsonToken.VALUE_STRING
+                            ? codigoEstado(parser) : OcupacionAsientos.ESTADO_DESCONOCIDO;
+                    case "expira" -> {
+                        expira = OcupacionAsientos.SIN_EXPIRACION;
+                        expiraSinZona = false;
+                        if (valor == JsonToken.VALUE_STRING) {
+                            String texto = parser.getText();
+                            expira = parsearExpiracion(texto);
+                            if (expira == OcupacionAsientos.SIN_EXPIRACION) {
+                                expira = parsearExpiracionSinZona(texto);
+                                expiraSinZona = expira != OcupacionAsientos.SIN_EXPIRACION;
+                            }
+                        }
+                    }
+                    default -> {
+                    }
+                }
+                // Un objeto o arreglo donde se esperaba un escalar (o en un campo
+                // desconocido) se salta entero; sobre un escalar no hace nada
+                parser.skipChildren();
+            }
+
+            arreglos.agregar(fila, columna, estado, expira, expiraSinZona);
+        }
+    }
+
+    /**
+     * Compara el texto del estado sin crear un String (ignorando mayúsculas).
+     */
+    private byte codigoEstado(JsonParser parser) throws IOException {
+        char[] texto = parser.getTextCharacters();
+        int inicio = parser.getTextOffset();
+        int largo = parser.getTextLength();
+
+        if (coincide(texto, inicio, largo, BLOQUEADO)) {
+            return OcupacionAsientos.ESTADO_BLOQUEADO;
+        }
+        if (coincide(texto, inicio, largo, VENDIDO)) {
+            return OcupacionAsientos.ESTADO_VENDIDO;
+        }
+        return OcupacionAsientos.ESTADO_DESCONOCIDO;
+    }
+
+    private boolean coincide(char[] texto, int inicio, int largo, char[] esperado) {
+        if (largo != esperado.length) {
+            return false;
+        }
+        for (int i = 0; i < largo; i++) {
+            if (Character.toLowerCase(texto[inicio + i]) != esperado[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long parsearExpiracion(String texto) {
+        try {
+            return Instant.parse(texto).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                return OffsetDateTime.parse(texto).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e2) {
+                return OcupacionAsientos.SIN_EXPIRACION;
+            }
+        }
+    }
+
+    /**
+     * Algunas fechas llegan sin zona; se interpretan como UTC y se marcan para
+     * devolverlas también sin zona.
+     */
+    private long parsearExpiracionSinZona(String texto) {
+        try {
+            return LocalDateTime.parse(texto).toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            return OcupacionAsientos.SIN_EXPIRACION;
+        }
+    }
+
+    /**
+     * Arreglos paralelos que crecen al doble cuando se llenan.
+     */
+    private static final class Arreglos {
+
+        private int cantidad;
+        private int[] filas = new int[CAPACIDAD_INICIAL];
+        private int[] columnas = new int[CAPACIDAD_INICIAL];
+        private byte[] estados = new byte[CAPACIDAD_INICIAL];
+        private long[] expiraciones = new long[CAPACIDAD_INICIAL];
+        private boolean[] expiracionesSinZona = new boolean[CAPACIDAD_INICIAL];
+
+        void agregar(int fila, int columna, byte estado, long expira, boolean expiraSinZona) {
+            if (cantidad == filas.length) {
+                int nuevaCapacidad = filas.length * 2;
+                filas = Arrays.copyOf(filas, nuevaCapacidad);
+                columnas = Arrays.copyOf(columnas, nuevaCapacidad);
+                estados = Arrays.copyOf(estados, nuevaCapacidad);
+                expiraciones = Arrays.copyOf(expiraciones, nuevaCapacidad);
+                expiracionesSinZona = Arrays.copyOf(expiracionesSinZona, nuevaCapacidad);
+            }
+            filas[cantidad] = fila;
+            columnas[cantidad] = columna;
+            estados[cantidad] = estado;
+            expiraciones[cantidad] = expira;
+            expiracionesSinZona[cantidad] = expiraSinZona;
+            cantidad++;
+        }
+
+        OcupacionAsientos construir(Long eventoId) {
+            return new OcupacionAsientos(eventoId, cantidad, filas, columnas, estados, expiraciones,
+                    expiracionesSinZona);
+        }
+    }
+}
\ No newline at end of file
@@ -1,11 +1,19 @@
 package com.abel.proxy.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -13,7 +21,14 @@ public class KafkaConsumerService {
 
     private static final String TOPIC = "eventos-actualizacion";
 
+    // Solo se aceptan campos que nombran eventos de forma explícita; un "id" suelto
+    // o un número sin contexto puede ser de otra entidad y no alcanza para sincronizar
+    private static final List<String> CAMPOS_ID = List.of("eventoId", "idEvento", "evento_id");
+    private static final List<String> CAMPOS_LISTA = List.of("eventosIds", "eventos_ids", "eventos");
+    private static final String CAMPO_EVENTO = "evento";
+
     private final BackendNotifierService backendNotifierService;  // ← AGREGAR
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     @PostConstruct
     public void init() {
@@ -36,11 +51,105 @@ public class KafkaConsumerService {
 
     private void procesarMensaje(String mensaje) {
         try {
+            List<Long> eventosIds = extraerEventosIds(mensaje);
+            if (eventosIds == null) {
+                log.info("No se pudieron identificar los eventos del mensaje. Se pedira sincronizacion completa");
+            } else {
+                log.info("Eventos afectados: {}", eventosIds);
+            }
+
             // Notificar al Backend
-            backendNotifierService.notificarCambio(mensaje);
+            backendNotifierService.notificarCambio(mensaje, eventosIds);
 
         } catch (Exception e) {
             log.error("Error procesando mensaje de Kafka: {}", e.getMessage(), e);
         }
     }
+
+    /**
+     * Intenta obtener los IDs de los eventos afectados a partir del mensaje.
+     * Acepta un objeto con "eventoId"/"idEvento"/"evento_id", con un objeto "evento"
+     * (se toma su "id"), con una lista "eventosIds"/"eventos_ids"/"eventos", o un
+     * arreglo de esos objetos. Cualquier otra forma pide la sincronización completa.
+     *
+     * @return los IDs encontrados, o null si el mensaje no pudo interpretarse
+     */
+    private List<Long> extraerEventosIds(String mensaje) {
+        if (mensaje == null || mensaje.isBlank()) {
+            return null;
+        }
+
+        try {
+            Set<Long> ids = new LinkedHashSet<>();
+            boolean explicito = recolectarIds(objectMapper.readTree(mensaje), ids);
+            return !explicito || ids.isEmpty() ? null : new ArrayList<>(ids);
+        } catch (JsonProcessingException e) {
+            log.debug("El mensaje no es JSON: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return false si alguna parte del mensaje no nombra eventos de forma explícita;
+     * en ese caso lo recolectado no es confiable y no se usa
+     */
+    private boolean recolectarIds(JsonNode nodo, Set<Long> ids) {
+        if (nodo.isArray()) {
+            for (JsonNode elemento : nodo) {
+                if (!elemento.isObject() || !recolectarIds(elemento, ids)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (!nodo.isObject()) {
+            return false;
+        }
+
+        for (String campo : CAMPOS_ID) {
+            if (nodo.has(campo)) {
+                return agregarId(nodo.get(campo), ids);
+            }
+        }
+        if (nodo.has(CAMPO_EVENTO)) {
+            return agregarEvento(nodo.get(CAMPO_EVENTO), ids);
+        }
+        for (String campo : CAMPOS_LISTA) {
+            if (nodo.has(campo)) {
+                JsonNode lista = nodo.get(campo);
+                if (!lista.isArray()) {
+                    return false;
+                }
+                for (JsonNode elemento : lista) {
+                    if (!agregarEvento(elemento, ids)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Un evento puede venir como su ID o como el objeto del evento con su "id".
+     */
+    private boolean agregarEvento(JsonNode evento, Set<Long> ids) {
+        return agregarId(evento.isObject() ? evento.get("id") : evento, ids);
+    }
+
+    private boolean agregarId(JsonNode valor, Set<Long> ids) {
+        if (valor == null) {
+            return false;
+        }
+        if (valor.isIntegralNumber()) {
+            ids.add(valor.asLong());
+            return true;
+        }
+        if (valor.isTextual() && valor.asText().matches("\\d+")) {
+            ids.add(Long.parseLong(valor.asText()));
+            return true;
+        }
+        return false;
+    }
 }
\ No newline at end of file
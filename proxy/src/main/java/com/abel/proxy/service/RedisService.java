@@ -2,28 +2,63 @@ package com.abel.proxy.service;
 
 import com.abel.proxy.dto.AsientoDTO;
 import com.abel.proxy.dto.EventoAsientosDTO;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import com.abel.proxy.dto.VerificacionResponse;
+import com.abel.proxy.model.OcupacionAsientos;
+import com.abel.proxy.model.SnapshotAsientos;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
-@RequiredArgsConstructor
 @Slf4j
 public class RedisService {
 
     private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final DecodificadorAsientos decodificadorAsientos;
+
+    // Último snapshot parseado por evento, junto con el JSON del que salió
+    private final Map<Long, SnapshotCacheado> snapshots = new ConcurrentHashMap<>();
+
+    private final Counter aciertos;
+    private final Counter fallos;
+
+    public RedisService(RedisTemplate<String, String> redisTemplate,
+                        DecodificadorAsientos decodificadorAsientos,
+                        MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.decodificadorAsientos = decodificadorAsientos;
+        this.aciertos = Counter.builder("proxy.redis.snapshots")
+                .description("Lecturas de Redis resueltas con el snapshot ya parseado")
+                .tag("resultado", "hit")
+                .register(meterRegistry);
+        this.fallos = Counter.builder("proxy.redis.snapshots")
+                .description("Lecturas de Redis que requirieron parsear el JSON")
+                .tag("resultado", "miss")
+                .register(meterRegistry);
+    }
 
     /**
      * Obtiene los asientos ocupados/bloqueados de un evento desde Redis.
      * Si no hay datos en Redis, retorna un DTO con lista vacía (todos libres).
      */
     public EventoAsientosDTO obtenerAsientosOcupados(Long eventoId) {
+        return obtenerSnapshot(eventoId).getAsientos();
+    }
+
+    /**
+     * Obtiene el snapshot de asientos ocupados de un evento.
+     * <p>
+     * El JSON de Redis se vuelve a parsear solo si cambió desde la última lectura;
+     * el propio contenido leído funciona como huella de la versión.
+     */
+    public SnapshotAsientos obtenerSnapshot(Long eventoId) {
         String key = "evento_" + eventoId;
 
         log.debug("Consultando Redis con clave: {}", key);
@@ -32,42 +67,55 @@ public class RedisService {
 
         if (json == null || json.isEmpty()) {
             log.debug("No hay datos en Redis para evento {}. Todos los asientos están libres.", eventoId);
-            return new EventoAsientosDTO(eventoId);
+            snapshots.remove(eventoId);
+            return new SnapshotAsientos(OcupacionAsientos.vacia(eventoId));
         }
 
+        SnapshotCacheado cacheado = snapshots.get(eventoId);
+        if (cacheado != null && cacheado.json().equals(json)) {
+            aciertos.increment();
+            return cacheado.snapshot();
+        }
+
+        fallos.increment();
+
         try {
-            EventoAsientosDTO resultado = objectMapper.readValue(json, EventoAsientosDTO.class);
+            OcupacionAsientos ocupacion = decodificadorAsientos.decodificar(json);
             log.debug("Encontrados {} asientos ocupados/bloqueados para evento {}",
-                    resultado.getAsientos().size(), eventoId);
-            return resultado;
-        } catch (JsonProcessingException e) {
+                    ocupacion.getCantidad(), eventoId);
+
+            SnapshotAsientos snapshot = new SnapshotAsientos(ocupacion);
+            snapshots.put(eventoId, new SnapshotCacheado(json, snapshot));
+            return snapshot;
+        } catch (IOException e) {
             log.error("Error parseando JSON de Redis para evento {}: {}", eventoId, e.getMessage());
-            return new EventoAsientosDTO(eventoId);
+            snapshots.remove(eventoId);
+            return new SnapshotAsientos(OcupacionAsientos.vacia(eventoId));
         }
     }
 
     /**
      * Verifica si una lista de asientos está disponible (no están en Redis).
-     * Retorna true si TODOS los asientos están disponibles.
+     * El resultado indica qué asientos ocupados coinciden con los solicitados.
      */
-    public boolean verificarDisponibilidad(Long eventoId, List<AsientoDTO> asientosAVerificar) {
-        EventoAsientosDTO ocupados = obtenerAsientosOcupados(eventoId);
-
-        for (AsientoDTO asientoSolicitado : asientosAVerificar) {
-            for (AsientoDTO asientoOcupado : ocupados.getAsientos()) {
-                if (asientoSolicitado.getFila().equals(asientoOcupado.getFila()) &&
-                        asientoSolicitado.getColumna().equals(asientoOcupado.getColumna())) {
-
-                    log.debug("Asiento [{},{}] no disponible. Estado: {}",
-                            asientoSolicitado.getFila(),
-                            asientoSolicitado.getColumna(),
-                            asientoOcupado.getEstado());
-                    return false;
-                }
-            }
+    public VerificacionResponse verificarDisponibilidad(Long eventoId, List<AsientoDTO> asientosAVerificar) {
+        List<AsientoDTO> noDisponibles = obtenerSnapshot(eventoId).buscarConflictos(asientosAVerificar);
+
+        if (noDisponibles.isEmpty()) {
+            log.debug("Todos los asientos solicitados están disponibles para evento {}", eventoId);
+        } else {
+            log.debug("{} de {} asientos no disponibles para evento {}",
+                    noDisponibles.size(), asientosAVerificar.size(), eventoId);
         }
 
-        log.debug("Todos los asientos solicitados están disponibles para evento {}", eventoId);
-        return true;
+        return new VerificacionResponse(
+                eventoId,
+                noDisponibles.isEmpty(),
+                asientosAVerificar.size(),
+                noDisponibles
+        );
+    }
+
+    private record SnapshotCacheado(String json, SnapshotAsientos snapshot) {
     }
 }
\ No newline at end of file